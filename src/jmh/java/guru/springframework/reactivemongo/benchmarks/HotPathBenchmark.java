@@ -0,0 +1,120 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the steps every beer read or write goes through:
+ * MapStruct mapping, bean validation and Jackson encoding, for a single beer
+ * and for a list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+
+    @Param({"1", "500"})
+    int size;
+
+    BeerMapper mapper;
+    LocalValidatorFactoryBean validator;
+    ObjectMapper objectMapper;
+
+    List<Beer> beers;
+    List<BeerDTO> beerDTOs;
+
+    @Setup
+    public void setUp() {
+        mapper = new BeerMapperImpl();
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        beers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            beers.add(beer(i));
+        beerDTOs = beers.stream().map(mapper::toBeerDto).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validator.close();
+    }
+
+    static Beer beer(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        return Beer.builder()
+                .id(Integer.toHexString(0x10000000 + i) + "0000000000000000")
+                .name("Galaxy Cat " + i)
+                .style("PALE_ALE")
+                .upc(Integer.toString(123456 + i))
+                .price(BigDecimal.valueOf(1299 + i, 2))
+                .quantityOnHand(100 + i)
+                .version(0L)
+                .createdDate(now)
+                .lastModifiedDate(now)
+                .build();
+    }
+
+    @Benchmark
+    public void mapToDto(Blackhole blackhole) {
+        for (Beer beer : beers)
+            blackhole.consume(mapper.toBeerDto(beer));
+    }
+
+    @Benchmark
+    public void mapToDocument(Blackhole blackhole) {
+        for (BeerDTO beerDTO : beerDTOs)
+            blackhole.consume(mapper.toBeer(beerDTO));
+    }
+
+    @Benchmark
+    public void validate(Blackhole blackhole) {
+        for (BeerDTO beerDTO : beerDTOs)
+            blackhole.consume(validator.validateObject(beerDTO).hasErrors());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(size == 1 ? beerDTOs.get(0) : beerDTOs);
+    }
+
+    @Benchmark
+    public byte[] readPath() throws JsonProcessingException {
+        List<BeerDTO> page = new ArrayList<>(size);
+        for (Beer beer : beers)
+            page.add(mapper.toBeerDto(beer));
+        return objectMapper.writeValueAsBytes(size == 1 ? page.get(0) : page);
+    }
+}
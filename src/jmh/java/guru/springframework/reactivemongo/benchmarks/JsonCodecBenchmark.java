@@ -0,0 +1,109 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import guru.springframework.reactivemongo.config.CodecConfig;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Throughput of the list endpoint's JSON work, a page of beers encoded by the
+ * WebFlux Jackson encoder and the same page decoded back, with the default
+ * reflective mapper ({@code reflective}) and with the {@code CodecConfig}
+ * modules installed ({@code tuned}). Three forks, since how the JIT compiles
+ * the generated accessors differs between runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class JsonCodecBenchmark {
+    private static final ResolvableType BEER_TYPE = ResolvableType.forClass(BeerDTO.class);
+    private static final ResolvableType PAGE_TYPE = ResolvableType.forClassWithGenerics(List.class, BeerDTO.class);
+
+    @Param({"reflective", "tuned"})
+    String mapper;
+
+    @Param({"25", "500"})
+    int size;
+
+    Jackson2JsonEncoder encoder;
+    Jackson2JsonDecoder decoder;
+    DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    List<BeerDTO> page;
+    long[] cents;
+    byte[] json;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (mapper.equals("tuned")) {
+            CodecConfig config = new CodecConfig();
+            builder.modulesToInstall(config.blackbirdModule(), config.decimalModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        decoder.setMaxInMemorySize(-1);
+
+        BeerMapperImpl beerMapper = new BeerMapperImpl();
+        page = IntStream.range(0, size)
+                .mapToObj(i -> beerMapper.toBeerDto(HotPathBenchmark.beer(i)))
+                .toList();
+        cents = page.stream().mapToLong(beerDTO -> beerDTO.getPrice().unscaledValue().longValue()).toArray();
+        json = encode();
+    }
+
+    /**
+     * Prices are read fresh from Mongo on every request, so each page gets new
+     * instances rather than ones whose {@code toString()} is already cached.
+     */
+    @Benchmark
+    public byte[] encode() {
+        for (int i = 0; i < size; i++)
+            page.get(i).setPrice(BigDecimal.valueOf(cents[i], 2));
+        DataBuffer buffer = encoder.encodeValue(page, bufferFactory, PAGE_TYPE, APPLICATION_JSON, Map.of());
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        decoder.decode(Mono.just(bufferFactory.wrap(json)), BEER_TYPE, APPLICATION_JSON, Map.of())
+                .subscribe(blackhole::consume);
+    }
+}
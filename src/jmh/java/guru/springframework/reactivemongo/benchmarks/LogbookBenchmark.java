@@ -0,0 +1,123 @@
+package guru.springframework.reactivemongo.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import guru.springframework.reactivemongo.config.LogbookSamplingProperties;
+import guru.springframework.reactivemongo.config.SamplingLogbookStrategy;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.mappers.BeerMapperImpl;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpLogWriter;
+import org.zalando.logbook.Logbook;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.core.BodyFilters;
+import org.zalando.logbook.core.DefaultSink;
+import org.zalando.logbook.core.DefaultStrategy;
+import org.zalando.logbook.json.JsonHttpLogFormatter;
+import org.zalando.logbook.test.MockHttpRequest;
+import org.zalando.logbook.test.MockHttpResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Logbook cost per exchange of a beer list read: the previous setup, where
+ * every body is buffered and formatted, against the sampling strategy with
+ * bodies truncated as in {@code application.yml}, and against headers only.
+ * The writer drops the formatted entry, so appender I/O is left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogbookBenchmark {
+    static final int MAX_BODY_SIZE = 4096;
+
+    @Param({"25", "500"})
+    int size;
+
+    @Param({"all", "sampled", "headersOnly"})
+    String strategy;
+
+    Logbook logbook;
+    String responseBody;
+    long written;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        BeerMapper mapper = new BeerMapperImpl();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<BeerDTO> page = IntStream.range(0, size)
+                .mapToObj(i -> mapper.toBeerDto(HotPathBenchmark.beer(i)))
+                .toList();
+        responseBody = objectMapper.writeValueAsString(page);
+
+        DefaultSink sink = new DefaultSink(new JsonHttpLogFormatter(), new DiscardingWriter());
+        LogbookSamplingProperties properties = new LogbookSamplingProperties();
+        logbook = switch (strategy) {
+            case "all" -> Logbook.builder()
+                    .strategy(new DefaultStrategy())
+                    .sink(sink)
+                    .build();
+            case "sampled" -> Logbook.builder()
+                    .strategy(new SamplingLogbookStrategy(properties))
+                    .bodyFilter(BodyFilters.truncate(MAX_BODY_SIZE))
+                    .sink(sink)
+                    .build();
+            case "headersOnly" -> {
+                properties.setHeadersOnly(true);
+                yield Logbook.builder()
+                        .strategy(new SamplingLogbookStrategy(properties))
+                        .sink(sink)
+                        .build();
+            }
+            default -> throw new IllegalArgumentException(strategy);
+        };
+    }
+
+    @Benchmark
+    public long exchange() throws IOException {
+        MockHttpRequest request = MockHttpRequest.create()
+                .withMethod("GET")
+                .withPath("/api/v3/beer");
+        MockHttpResponse response = MockHttpResponse.create()
+                .withStatus(200)
+                .withContentType("application/json")
+                .withBodyAsString(responseBody);
+
+        logbook.process(request).write().process(response).write();
+        return written;
+    }
+
+    class DiscardingWriter implements HttpLogWriter {
+        @Override
+        public void write(Precorrelation precorrelation, String request) {
+            written += request.length();
+        }
+
+        @Override
+        public void write(Correlation correlation, String response) {
+            written += response.length();
+        }
+    }
+}
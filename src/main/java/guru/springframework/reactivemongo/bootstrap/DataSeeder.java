@@ -0,0 +1,108 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.config.MongoIndexInitializer;
+import guru.springframework.reactivemongo.config.SeedProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.services.BeerStyleSummaryService;
+import guru.springframework.reactivemongo.services.CollectionVersions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Fills the beer and customer collections with {@code sfg.seed.beers} and
+ * {@code sfg.seed.customers} synthetic documents. Runs right after
+ * {@link MongoIndexInitializer} and blocks until done, so the application only
+ * reports ready once the data is in place. Replacing deletes the documents
+ * rather than dropping the collections, which keeps their indexes, options
+ * and open change streams.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sfg.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSeeder implements ApplicationRunner {
+    private final ReactiveMongoTemplate template;
+    private final SeedProperties properties;
+    private final BeerStyleSummaryService summaryService;
+    private final CollectionVersions versions;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed().block();
+    }
+
+    public Mono<Void> seed() {
+        long seed = properties.getSeed();
+        return seed(Beer.class, properties.getBeers(), index -> SeedData.beer(seed, index))
+                .then(seed(Customer.class, properties.getCustomers(), index -> SeedData.customer(seed, index)))
+                .then(summaryService.reconcile());
+    }
+
+    private <T> Mono<Void> seed(Class<T> type, long total, LongFunction<T> generator) {
+        String collection = template.getCollectionName(type);
+        Mono<Boolean> ready = properties.isReplace()
+                ? template.remove(new Query(), type).thenReturn(true)
+                : template.estimatedCount(type).map(count -> count == 0);
+        int batchSize = properties.getBatchSize();
+        long batches = (total + batchSize - 1) / batchSize;
+        AtomicLong inserted = new AtomicLong();
+
+        return ready.flatMap(empty -> {
+            if (!empty) {
+                log.info("Keeping existing {} documents", collection);
+                return Mono.empty();
+            }
+            long started = System.nanoTime();
+            Disposable progress = Flux.interval(properties.getProgressInterval())
+                    .subscribe(tick -> log.info("Seeding {}: {}/{} ({} docs/s)",
+                            collection, inserted.get(), total, rate(inserted.get(), started)));
+            return Flux.range(0, Math.toIntExact(batches))
+                    .flatMap(batch -> Mono
+                            .fromCallable(() -> {
+                                long from = (long) batch * batchSize;
+                                List<T> documents = new ArrayList<>(batchSize);
+                                for (long index = from; index < Math.min(from + batchSize, total); index++)
+                                    documents.add(generator.apply(index));
+                                return documents;
+                            })
+                            .subscribeOn(Schedulers.parallel())
+                            .flatMap(documents -> template.bulkOps(BulkMode.UNORDERED, type)
+                                    .insert(documents)
+                                    .execute())
+                            .doOnNext(result -> inserted.addAndGet(result.getInsertedCount())),
+                            properties.getConcurrency())
+                    .doFinally(signal -> progress.dispose())
+                    .then(Mono.fromRunnable(() -> log.info("Seeded {} {} documents in {} ms ({} docs/s)",
+                            inserted.get(), collection,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                            rate(inserted.get(), started))))
+                    .then(versions.bump(type));
+        });
+    }
+
+    private static long rate(long documents, long started) {
+        long elapsed = System.nanoTime() - started;
+        return elapsed == 0 ? 0 : documents * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
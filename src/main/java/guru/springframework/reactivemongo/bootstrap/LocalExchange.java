@@ -0,0 +1,116 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Runs a request through an {@link HttpHandler} in process, without a socket
+ * or the security filter chain. Response bodies are drained and released; only
+ * the first {@value #MAX_BODY_BUFFERS} buffers are read, so streaming routes are
+ * cancelled early instead of emitting a whole collection.
+ */
+final class LocalExchange {
+    private static final int MAX_BODY_BUFFERS = 64;
+    private static final DataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private LocalExchange() {
+    }
+
+    static Mono<Result> exchange(HttpHandler handler, HttpMethod method, String uri, HttpHeaders headers, byte[] body) {
+        return Mono.defer(() -> {
+            Request request = new Request(method, URI.create("http://localhost" + uri), headers, body);
+            Response response = new Response();
+            return handler.handle(request, response)
+                    .then(Mono.fromSupplier(() -> new Result(response.getStatusCode(), response.getHeaders())));
+        });
+    }
+
+    record Result(HttpStatusCode status, HttpHeaders headers) {
+    }
+
+    private static class Request extends AbstractServerHttpRequest {
+        private final byte[] body;
+
+        Request(HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+            super(method, uri, "", headers);
+            this.body = body;
+        }
+
+        @Override
+        protected MultiValueMap<String, HttpCookie> initCookies() {
+            return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        protected SslInfo initSslInfo() {
+            return null;
+        }
+
+        @Override
+        public <T> T getNativeRequest() {
+            throw new IllegalStateException("No native request for a local exchange");
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return body == null ? Flux.empty() : Flux.defer(() -> Flux.just(BUFFERS.wrap(body)));
+        }
+    }
+
+    private static class Response extends AbstractServerHttpResponse {
+        Response() {
+            super(BUFFERS);
+        }
+
+        @Override
+        public <T> T getNativeResponse() {
+            throw new IllegalStateException("No native response for a local exchange");
+        }
+
+        @Override
+        protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+            return drain(Flux.from(body));
+        }
+
+        @Override
+        protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return drain(Flux.from(body).concatMap(Flux::from));
+        }
+
+        private Mono<Void> drain(Flux<? extends DataBuffer> body) {
+            return body
+                    .take(MAX_BODY_BUFFERS)
+                    .doOnNext(DataBufferUtils::release)
+                    .then();
+        }
+
+        @Override
+        protected void applyStatusCode() {
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+    }
+}
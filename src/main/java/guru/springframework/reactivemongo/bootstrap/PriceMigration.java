@@ -0,0 +1,75 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.services.BeerStyleSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Converts beer prices stored as strings, from before prices were mapped to
+ * {@code Decimal128}, so the analytics and summary pipelines only ever see
+ * numbers. Runs once per database: completion is recorded in
+ * {@value #COLLECTION}, later starts skip the collection scan. A price that
+ * does not parse is left as is and counted in the log.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PriceMigration implements ApplicationRunner {
+    public static final String COLLECTION = "migrations";
+    static final String ID = "beer-price-decimal128";
+
+    private final ReactiveMongoTemplate template;
+    private final BeerStyleSummaryService summaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate().block();
+    }
+
+    public Mono<Void> migrate() {
+        return template.exists(marker(), COLLECTION)
+                .flatMap(done -> done ? Mono.empty() : convert()
+                        .flatMap(converted -> converted > 0 ? summaryService.reconcile() : Mono.empty())
+                        .then(template.upsert(marker(), new Update().setOnInsert("completed", new Date()), COLLECTION))
+                        .then());
+    }
+
+    private Mono<Long> convert() {
+        AggregationUpdate toDecimal = AggregationUpdate.update()
+                .set("price").toValue(ConvertOperators.Convert.convertValueOf("price")
+                        .to("decimal")
+                        .onErrorReturnValueOf("price"));
+        String collection = template.getCollectionName(Beer.class);
+        return template.updateMulti(stringPrices(), toDecimal, collection)
+                .flatMap(result -> template.count(stringPrices(), collection)
+                        .doOnNext(unparsable -> log.info("Converted {} string beer prices to Decimal128, {} did not parse",
+                                result.getModifiedCount(), unparsable))
+                        .thenReturn(result.getModifiedCount()));
+    }
+
+    private static Query marker() {
+        return new Query(where("_id").is(ID));
+    }
+
+    private static Query stringPrices() {
+        return new Query(where("price").type(JsonSchemaObject.Type.STRING));
+    }
+}
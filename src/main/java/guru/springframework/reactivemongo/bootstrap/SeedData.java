@@ -0,0 +1,91 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic beers and customers. Every document is derived from the
+ * seed and its own index only, so batches can be built in any order and in
+ * parallel and still come out the same.
+ */
+final class SeedData {
+    private static final String[] ADJECTIVES = {
+            "Galaxy", "Hazy", "Golden", "Midnight", "Crimson", "Wild", "Rusty", "Velvet", "Smoky", "Juicy",
+            "Bitter", "Frosty", "Sunny", "Dark", "Hoppy", "Copper", "Lazy", "Salty", "Iron", "Electric"};
+    private static final String[] NOUNS = {
+            "Cat", "Crank", "City", "Harbor", "Owl", "Anchor", "Fox", "Lantern", "River", "Summit",
+            "Badger", "Comet", "Forest", "Monk", "Pilot", "Raven", "Tide", "Wolf", "Orchard", "Bridge"};
+    private static final String[] STYLES = {
+            "PALE_ALE", "IPA", "LAGER", "PILSNER", "STOUT", "PORTER", "SAISON", "WHEAT", "GOSE", "ALE"};
+    private static final String[] FIRST_NAMES = {
+            "Alex", "Alice", "Roberto", "Maria", "John", "Yuki", "Priya", "Omar", "Lena", "Mateo",
+            "Chloe", "Ivan", "Fatima", "Noah", "Sofia", "Kwame", "Ingrid", "Wei", "Aisha", "Lucas"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Garcia", "Ivanov", "Tanaka", "Patel", "Khan", "Muller", "Rossi", "Silva", "Chen",
+            "Okafor", "Nowak", "Dubois", "Larsen", "Kim", "Novak", "Haddad", "Jensen", "Lopez", "Brown"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final int ID_TIMESTAMP = (int) EPOCH.toEpochSecond(ZoneOffset.UTC);
+    private static final int CREATED_SPREAD_MINUTES = 4 * 365 * 24 * 60;
+    private static final byte BEER = 1;
+    private static final byte CUSTOMER = 2;
+
+    private SeedData() {
+    }
+
+    static Beer beer(long seed, long index) {
+        SplittableRandom random = random(seed, BEER, index);
+        LocalDateTime created = EPOCH.plusMinutes(random.nextInt(CREATED_SPREAD_MINUTES));
+        return Beer.builder()
+                .id(id(BEER, index))
+                .name(pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + index)
+                .style(pick(random, STYLES))
+                .upc(String.format("%012d", random.nextLong(1_000_000_000_000L)))
+                .price(BigDecimal.valueOf(random.nextInt(300, 2500), 2))
+                .quantityOnHand(random.nextInt(0, 500))
+                .version(0L)
+                .createdDate(created)
+                .lastModifiedDate(created)
+                .build();
+    }
+
+    static Customer customer(long seed, long index) {
+        SplittableRandom random = random(seed, CUSTOMER, index);
+        LocalDateTime created = EPOCH.plusMinutes(random.nextInt(CREATED_SPREAD_MINUTES));
+        return Customer.builder()
+                .id(id(CUSTOMER, index))
+                .name(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))
+                .version(0L)
+                .createdDate(created)
+                .lastModifiedDate(created)
+                .build();
+    }
+
+    private static SplittableRandom random(long seed, byte type, long index) {
+        return new SplittableRandom(seed ^ (type * 0x9E3779B97F4A7C15L + index) * 0xBF58476D1CE4E5B9L);
+    }
+
+    /**
+     * A fixed timestamp, the document type and the index, so reseeding yields
+     * the same ids and they never collide with ids generated at runtime.
+     */
+    private static String id(byte type, long index) {
+        ByteBuffer bytes = ByteBuffer.allocate(12)
+                .putInt(ID_TIMESTAMP)
+                .put(type)
+                .put((byte) (index >>> 48))
+                .putShort((short) (index >>> 32))
+                .putInt((int) index);
+        return new ObjectId(bytes.array()).toHexString();
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,333 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.config.JwkSetCache;
+import guru.springframework.reactivemongo.config.MongoClientProperties;
+import guru.springframework.reactivemongo.config.MongoIndexInitializer;
+import guru.springframework.reactivemongo.config.WarmUpProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.CustomerService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_BATCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_SEARCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_STYLE_ANALYTICS_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_STYLE_SUMMARY_PATH;
+import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+/**
+ * Pays the first-request costs before the application reports ready: opens
+ * Mongo connections, ensures indexes, loads hot entries into the caches,
+ * fetches the JWK set and sends requests through every route so the JIT has
+ * compiled the handler, mapper and codec paths. A failing step is logged and
+ * does not stop startup; a routes step with any failed request counts as
+ * failed. Step timings are served by the {@code warmup} actuator endpoint.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sfg.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUp implements ApplicationRunner {
+    static final String SCRATCH_STYLE = "WARM_UP";
+    private static final Document PING = new Document("ping", 1);
+    private static final int MAX_CONNECTION_ROUNDS = 10;
+
+    private final ReactiveMongoTemplate template;
+    private final MongoClientProperties mongoProperties;
+    private final MongoIndexInitializer indexInitializer;
+    private final BeerService beerService;
+    private final CustomerService customerService;
+    private final JwkSetCache jwkSetCache;
+    private final List<RouterFunction<ServerResponse>> routers;
+    private final ServerCodecConfigurer codecs;
+    private final ObjectMapper objectMapper;
+    private final WarmUpProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<Step> steps = new CopyOnWriteArrayList<>();
+    private volatile boolean completed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        step("mongoConnections", this::openConnections);
+        step("indexes", () -> indexInitializer.ensureIndexes().thenReturn("ensured"));
+        step("caches", this::primeCaches);
+        step("jwkSet", () -> jwkSetCache.refresh().map(keys -> keys.getKeys().size() + " keys"));
+        step("routes", this::exerciseRoutes);
+        completed = true;
+        log.info("Warm-up finished in {} ms", totalMillis());
+    }
+
+    public Report report() {
+        return new Report(completed, totalMillis(), List.copyOf(steps));
+    }
+
+    private long totalMillis() {
+        return steps.stream().mapToLong(Step::millis).sum();
+    }
+
+    private void step(String name, Supplier<Mono<String>> work) {
+        long started = System.nanoTime();
+        String outcome = "success";
+        String detail;
+        try {
+            detail = work.get().block();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            detail = e.getMessage();
+            log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - started;
+        Timer.builder("sfg.warmup.step")
+                .tag("step", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        steps.add(new Step(name, TimeUnit.NANOSECONDS.toMillis(elapsed), outcome, detail));
+        log.info("Warm-up step {} took {} ms: {}", name, TimeUnit.NANOSECONDS.toMillis(elapsed), detail);
+    }
+
+    /**
+     * Concurrent pings make the driver open connections instead of queueing on
+     * one; repeated until the pool gauge reaches the target, since at most
+     * {@code maxConnecting} are established at a time.
+     */
+    private Mono<String> openConnections() {
+        int target = Math.max(mongoProperties.getPool().getMinSize(), properties.getConnections());
+        return Flux.range(0, target)
+                .flatMap(i -> template.executeCommand(PING), target)
+                .then(Mono.fromSupplier(this::openConnectionCount))
+                .repeat(MAX_CONNECTION_ROUNDS - 1, () -> openConnectionCount() < target)
+                .last()
+                .map(open -> open + " of " + target + " connections open");
+    }
+
+    private int openConnectionCount() {
+        return (int) meterRegistry.find("mongodb.driver.pool.size").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private Mono<String> primeCaches() {
+        int limit = properties.getCache().getLimit();
+        Mono<Long> beers = template
+                .find(hottest(properties.getCache().getBeerQuery(), limit), Beer.class)
+                .flatMap(beer -> beerService.findById(beer.getId()), 8)
+                .count();
+        Mono<Long> customers = template
+                .find(hottest(properties.getCache().getCustomerQuery(), limit), Customer.class)
+                .flatMap(customer -> customerService.findById(customer.getId()), 8)
+                .count();
+        return Mono.zip(beers, customers)
+                .map(primed -> primed.getT1() + " beers, " + primed.getT2() + " customers");
+    }
+
+    private static Query hottest(String filter, int limit) {
+        Query query = new BasicQuery(filter)
+                .with(Sort.by(Sort.Direction.DESC, "lastModifiedDate"))
+                .limit(limit);
+        query.fields().include("id");
+        return query;
+    }
+
+    /**
+     * Requests go straight to the router functions, bypassing the socket and
+     * security filters. Only reads are sent unless {@code sfg.warm-up.writes}
+     * is on, since the write routes act on the live collections; the
+     * aggregation scans the whole collection, so it runs once.
+     */
+    private Mono<String> exerciseRoutes() {
+        RouterFunction<ServerResponse> router = routers.stream().reduce(RouterFunction::and).orElseThrow();
+        HttpHandler handler = RouterFunctions.toHttpHandler(router, HandlerStrategies.empty()
+                .codecs(configurer -> {
+                    codecs.getReaders().forEach(configurer.customCodecs()::register);
+                    codecs.getWriters().forEach(configurer.customCodecs()::register);
+                })
+                .build());
+        Routes routes = new Routes(handler);
+        return Flux.range(0, properties.getRouteIterations())
+                .concatMap(iteration -> routes.beers().then(routes.customers()))
+                .then(routes.send(HttpMethod.GET, BEER_STYLE_ANALYTICS_PATH + "?minQuantity=1", null))
+                .then(Mono.fromSupplier(() -> routes.sent.get() + " requests, " + routes.failed.get() + " failed"))
+                .flatMap(detail -> routes.failed.get() == 0
+                        ? Mono.just(detail)
+                        : Mono.error(new IllegalStateException(detail)));
+    }
+
+    public record Step(String name, long millis, String outcome, String detail) {
+    }
+
+    public record Report(boolean completed, long totalMillis, List<Step> steps) {
+    }
+
+    private class Routes {
+        private final HttpHandler handler;
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Routes(HttpHandler handler) {
+            this.handler = handler;
+        }
+
+        Mono<Void> beers() {
+            if (!properties.isWrites())
+                return existing(Beer.class, BEER_PATH).flatMap(this::beerReads).then(beerLists());
+            BeerDTO beer = BeerDTO.builder()
+                    .name("Warm Up")
+                    .style(SCRATCH_STYLE)
+                    .upc("0")
+                    .price(BigDecimal.ONE)
+                    .quantityOnHand(1)
+                    .build();
+            return create(BEER_PATH, beer)
+                    .flatMap(path -> beerReads(path)
+                            .then(beerLists())
+                            .then(send(HttpMethod.PUT, path, beer))
+                            .then(send(HttpMethod.PATCH, path, BeerDTO.builder().name("Warm Up Patched").build()))
+                            .then(send(HttpMethod.POST, path + "/inventory", InventoryAdjustmentDTO.builder().delta(1).build()))
+                            .then(send(HttpMethod.DELETE, path, null)))
+                    .then(send(HttpMethod.POST, BEER_BATCH_PATH, ndjson(beer), APPLICATION_NDJSON))
+                    .then(send(HttpMethod.DELETE, BEER_PATH + "?beerStyle=" + SCRATCH_STYLE, null));
+        }
+
+        private Mono<Void> beerReads(String path) {
+            return send(HttpMethod.GET, path, null)
+                    .then(send(HttpMethod.GET, path + "?fields=id,name,price", null));
+        }
+
+        private Mono<Void> beerLists() {
+            return send(HttpMethod.GET, BEER_PATH + "?size=25", null)
+                    .then(send(HttpMethod.GET, BEER_PATH + "?beerStyle=" + SCRATCH_STYLE, null))
+                    .then(send(HttpMethod.GET, BEER_PATH + "?beerStyle=" + SCRATCH_STYLE, null, APPLICATION_NDJSON))
+                    .then(send(HttpMethod.GET, BEER_SEARCH_PATH + "?q=warm", null))
+                    .then(send(HttpMethod.GET, BEER_STYLE_SUMMARY_PATH, null));
+        }
+
+        Mono<Void> customers() {
+            if (!properties.isWrites())
+                return existing(Customer.class, CUSTOMER_PATH).flatMap(this::customerReads).then(customerLists());
+            CustomerDTO customer = CustomerDTO.builder().name("Warm Up").build();
+            return create(CUSTOMER_PATH, customer)
+                    .flatMap(path -> customerReads(path)
+                            .then(customerLists())
+                            .then(send(HttpMethod.PUT, path, customer))
+                            .then(send(HttpMethod.PATCH, path, customer))
+                            .then(send(HttpMethod.DELETE, path, null)));
+        }
+
+        private Mono<Void> customerReads(String path) {
+            return send(HttpMethod.GET, path, null);
+        }
+
+        private Mono<Void> customerLists() {
+            return send(HttpMethod.GET, CUSTOMER_PATH + "?size=25", null)
+                    .then(send(HttpMethod.GET, CUSTOMER_PATH, null, APPLICATION_NDJSON));
+        }
+
+        /**
+         * Path of any stored document, empty when the collection is.
+         */
+        private Mono<String> existing(Class<?> type, String path) {
+            Query query = new Query().limit(1);
+            query.fields().include("_id");
+            return template.findOne(query, Document.class, template.getCollectionName(type))
+                    .map(document -> path + "/" + document.get("_id"));
+        }
+
+        private Mono<String> create(String path, Object body) {
+            return exchange(HttpMethod.POST, path, json(body), APPLICATION_JSON)
+                    .mapNotNull(result -> result.headers().getLocation())
+                    .map(URI::getPath);
+        }
+
+        Mono<Void> send(HttpMethod method, String uri, Object body) {
+            return send(method, uri, body == null ? null : json(body), APPLICATION_JSON);
+        }
+
+        Mono<Void> send(HttpMethod method, String uri, byte[] body, MediaType mediaType) {
+            return exchange(method, uri, body, mediaType).then();
+        }
+
+        private Mono<LocalExchange.Result> exchange(HttpMethod method, String uri, byte[] body,
+                                                     MediaType mediaType) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(List.of(mediaType));
+            if (body != null)
+                headers.setContentType(mediaType);
+            return LocalExchange.exchange(handler, method, uri, headers, body)
+                    .doOnNext(result -> {
+                        sent.incrementAndGet();
+                        if (result.status() == null || result.status().isError()) {
+                            failed.incrementAndGet();
+                            log.debug("Warm-up {} {} answered {}", method, uri, result.status());
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        sent.incrementAndGet();
+                        failed.incrementAndGet();
+                        log.debug("Warm-up {} {} failed: {}", method, uri, e.getMessage());
+                        return Mono.empty();
+                    });
+        }
+
+        private byte[] json(Object body) {
+            try {
+                return objectMapper.writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private byte[] ndjson(Object body) {
+            byte[] json = json(body);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = '\n';
+            return line;
+        }
+    }
+}
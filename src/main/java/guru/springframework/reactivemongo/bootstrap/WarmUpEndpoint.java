@@ -0,0 +1,23 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/warmup}: whether warm-up finished and how long each step took.
+ */
+@Component
+@Endpoint(id = "warmup")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sfg.warm-up.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpEndpoint {
+    private final WarmUp warmUp;
+
+    @ReadOperation
+    public WarmUp.Report report() {
+        return warmUp.report();
+    }
+}
@@ -0,0 +1,24 @@
+package guru.springframework.reactivemongo.config;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties("sfg.beer-import")
+public class BeerImportProperties {
+    /**
+     * Number of beers sent to Mongo in one unordered bulk insert.
+     */
+    @Positive
+    private int chunkSize = 500;
+
+    /**
+     * Bulk inserts allowed in flight at once, keeps a single import from
+     * draining the connection pool.
+     */
+    @Positive
+    private int concurrency = 4;
+}
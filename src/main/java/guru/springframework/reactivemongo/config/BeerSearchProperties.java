@@ -0,0 +1,13 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("sfg.beer-search")
+public class BeerSearchProperties {
+    /**
+     * Most relevant matches a search can page through, later pages come back empty.
+     */
+    private int maxResults = 200;
+}
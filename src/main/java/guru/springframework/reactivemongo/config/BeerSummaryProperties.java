@@ -0,0 +1,17 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("sfg.beer-summary")
+public class BeerSummaryProperties {
+    /**
+     * How often the summary is rebuilt from the beer collection, repairing
+     * drift left by writes that raced each other or failed halfway. The first
+     * rebuild runs at startup.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,26 @@
+package guru.springframework.reactivemongo.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BEERS = "beers";
+    public static final String BEERS_BY_NAME = "beersByName";
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMERS_BY_NAME = "customersByName";
+
+    /**
+     * Services return {@code Mono}, which the cache abstraction only stores
+     * when Caffeine runs in async mode, sizing and expiry come from
+     * {@code spring.cache.caffeine.spec}.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCacheManager() {
+        return cacheManager -> cacheManager.setAsyncCacheMode(true);
+    }
+}
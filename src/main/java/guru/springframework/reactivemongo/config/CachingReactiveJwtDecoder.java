@@ -0,0 +1,77 @@
+package guru.springframework.reactivemongo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verifies each distinct token once and serves repeat calls from memory
+ * until the token's {@code exp}. Keys are a SHA-256 of the token so raw
+ * bearer tokens are never held as cache keys. Failed verifications are not cached.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String key = hash(token);
+        Jwt jwt = verified.getIfPresent(key);
+        if (jwt != null)
+            return Mono.just(jwt);
+        return delegate.decode(token)
+                .doOnNext(decoded -> {
+                    if (decoded.getExpiresAt() != null)
+                        verified.put(key, decoded);
+                });
+    }
+
+    Cache<String, Jwt> getCache() {
+        return verified;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class UntilExpiry implements Expiry<String, Jwt> {
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
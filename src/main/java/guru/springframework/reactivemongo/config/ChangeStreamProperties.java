@@ -0,0 +1,21 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("sfg.change-streams")
+public class ChangeStreamProperties {
+    /**
+     * Change streams need a replica set, so they stay off for a standalone server.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How often the last seen resume token is written back. Invalidations are
+     * idempotent, replaying the events since the last checkpoint after a restart is harmless.
+     */
+    private Duration checkpointInterval = Duration.ofSeconds(5);
+}
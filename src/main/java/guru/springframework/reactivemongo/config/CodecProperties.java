@@ -0,0 +1,19 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties("sfg.codec")
+public class CodecProperties {
+    /**
+     * Largest body accepted by routes that take a single beer, customer or adjustment.
+     */
+    private DataSize maxEntitySize = DataSize.ofKilobytes(16);
+
+    /**
+     * Largest body accepted by the streaming beer import.
+     */
+    private DataSize maxBatchSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,41 @@
+package guru.springframework.reactivemongo.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long callers waited for a pooled connection, the pool gauges
+ * only show how many are waiting right now.
+ */
+@RequiredArgsConstructor
+public class ConnectionPoolWaitTimer implements ConnectionPoolListener {
+    public static final String WAIT_TIMER = "mongodb.driver.pool.wait";
+
+    private final MeterRegistry registry;
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record(event.getConnectionId().getServerId(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getServerId(), event.getReason().name().toLowerCase(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(ServerId serverId, String outcome, long nanos) {
+        Timer.builder(WAIT_TIMER)
+                .tag("server.address", serverId.getAddress().toString())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
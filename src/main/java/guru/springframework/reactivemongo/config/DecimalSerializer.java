@@ -0,0 +1,53 @@
+package guru.springframework.reactivemongo.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes decimals that fit in a long, every price, digit by digit into the
+ * generator instead of through {@link BigDecimal#toString()}. The generator
+ * copies the digits, so one buffer per thread is enough. Anything wider falls
+ * back to Jackson's own handling.
+ */
+public class DecimalSerializer extends StdSerializer<BigDecimal> {
+    private static final int MAX_DIGITS = 18;
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_DIGITS + 3]);
+
+    public DecimalSerializer() {
+        super(BigDecimal.class);
+    }
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int scale = value.scale();
+        if (scale < 0 || scale > MAX_DIGITS || value.precision() > MAX_DIGITS) {
+            gen.writeNumber(value);
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        int start = format(value.unscaledValue().longValue(), scale, buffer);
+        gen.writeNumber(buffer, start, buffer.length - start);
+    }
+
+    /**
+     * Fills the tail of {@code buffer} with the plain notation of
+     * {@code unscaled * 10^-scale} and returns where it starts.
+     */
+    static int format(long unscaled, int scale, char[] buffer) {
+        long rest = Math.abs(unscaled);
+        int pos = buffer.length;
+        for (int i = 0; rest > 0 || i <= scale; i++) {
+            if (i == scale && scale > 0)
+                buffer[--pos] = '.';
+            buffer[--pos] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        if (unscaled < 0)
+            buffer[--pos] = '-';
+        return pos;
+    }
+}
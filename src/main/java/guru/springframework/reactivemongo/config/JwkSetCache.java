@@ -0,0 +1,139 @@
+package guru.springframework.reactivemongo.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the issuer's JWK set in memory and refreshes it in the background,
+ * so verifying a token never waits on the issuer once keys are loaded. A
+ * token signed with an unknown key triggers an early refresh, at most once per
+ * {@link #UNKNOWN_KEY_REFRESH_INTERVAL}, to pick up rotated keys. When the issuer
+ * cannot be reached the last fetched keys, or the configured fallback, stay in use.
+ */
+@Slf4j
+public class JwkSetCache implements SmartLifecycle {
+    static final Duration UNKNOWN_KEY_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final WebClient webClient;
+    private final String issuerUri;
+    private final String jwkSetUri;
+    private final JwtCacheProperties properties;
+
+    private final AtomicReference<JWKSet> current = new AtomicReference<>();
+    private volatile Instant lastRefresh = Instant.EPOCH;
+    private volatile Disposable refresher;
+
+    public JwkSetCache(WebClient webClient, String issuerUri, String jwkSetUri, JwtCacheProperties properties) {
+        this.webClient = webClient;
+        this.issuerUri = issuerUri;
+        this.jwkSetUri = jwkSetUri;
+        this.properties = properties;
+    }
+
+    /**
+     * Keys to try for a token signed with {@code keyId}, refreshing first if
+     * nothing has been loaded yet or the key is unknown.
+     */
+    public Flux<JWK> keys(String keyId) {
+        JWKSet keys = current.get();
+        if (keys == null)
+            return refresh().flatMapIterable(JWKSet::getKeys);
+        if (keyId != null && keys.getKeyByKeyId(keyId) == null
+                && lastRefresh.plus(UNKNOWN_KEY_REFRESH_INTERVAL).isBefore(Instant.now()))
+            return refresh().onErrorReturn(keys).flatMapIterable(JWKSet::getKeys);
+        return Flux.fromIterable(keys.getKeys());
+    }
+
+    public Mono<JWKSet> refresh() {
+        lastRefresh = Instant.now();
+        return jwkSetUri()
+                .flatMap(uri -> webClient.get().uri(uri)
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .timeout(properties.getJwkSetTimeout())
+                .map(this::parse)
+                .doOnNext(keys -> {
+                    current.set(keys);
+                    log.debug("Loaded {} JWKs", keys.getKeys().size());
+                })
+                .onErrorResume(this::fallback);
+    }
+
+    @Override
+    public void start() {
+        refresher = Flux.interval(Duration.ZERO, properties.getJwkSetRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(e -> {
+                            log.warn("JWK set refresh failed and no keys are loaded: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        refresher.dispose();
+        refresher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+
+    private Mono<String> jwkSetUri() {
+        if (StringUtils.hasText(jwkSetUri))
+            return Mono.just(jwkSetUri);
+        return webClient.get()
+                .uri(issuerUri.replaceAll("/$", "") + "/.well-known/openid-configuration")
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .map(configuration -> (String) configuration.get("jwks_uri"));
+    }
+
+    private Mono<JWKSet> fallback(Throwable error) {
+        JWKSet keys = current.get();
+        if (keys != null) {
+            log.warn("JWK set refresh failed, keeping the last fetched keys: {}", error.getMessage());
+            return Mono.just(keys);
+        }
+        if (properties.getJwkSetFallback() == null || !properties.getJwkSetFallback().exists())
+            return Mono.error(error);
+        log.warn("Issuer unreachable, using fallback JWK set {}: {}", properties.getJwkSetFallback(), error.getMessage());
+        return Mono.fromCallable(() -> {
+                    try (InputStream in = properties.getJwkSetFallback().getInputStream()) {
+                        return parse(StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(current::set);
+    }
+
+    private JWKSet parse(String json) {
+        try {
+            return JWKSet.parse(json);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid JWK set", e);
+        }
+    }
+}
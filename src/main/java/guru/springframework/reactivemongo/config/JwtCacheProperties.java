@@ -0,0 +1,29 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("sfg.jwt")
+public class JwtCacheProperties {
+    /**
+     * Verified tokens kept in memory, each until its {@code exp}.
+     */
+    private long cacheMaximumSize = 10_000;
+
+    /**
+     * How often the JWK set is fetched from the issuer in the background.
+     */
+    private Duration jwkSetRefreshInterval = Duration.ofMinutes(5);
+
+    private Duration jwkSetTimeout = Duration.ofSeconds(5);
+
+    /**
+     * JWK set used while the issuer cannot be reached and no keys have been
+     * fetched yet, e.g. {@code file:/etc/sfg/jwks.json}.
+     */
+    private Resource jwkSetFallback;
+}
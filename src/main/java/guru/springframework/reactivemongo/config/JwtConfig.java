@@ -0,0 +1,50 @@
+package guru.springframework.reactivemongo.config;
+
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Replaces Boot's issuer-discovering decoder: keys come from a background
+ * refreshed {@link JwkSetCache} and each token's signature is checked once.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public JwkSetCache jwkSetCache(WebClient.Builder webClientBuilder,
+                                   OAuth2ResourceServerProperties resourceServer,
+                                   JwtCacheProperties properties) {
+        OAuth2ResourceServerProperties.Jwt jwt = resourceServer.getJwt();
+        return new JwkSetCache(webClientBuilder.build(), jwt.getIssuerUri(), jwt.getJwkSetUri(), properties);
+    }
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwkSetCache jwkSetCache,
+                                         OAuth2ResourceServerProperties resourceServer,
+                                         JwtCacheProperties properties,
+                                         MeterRegistry meterRegistry) {
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(
+                verifyingDecoder(jwkSetCache, resourceServer.getJwt().getIssuerUri()),
+                properties.getCacheMaximumSize());
+        CaffeineCacheMetrics.monitor(meterRegistry, decoder.getCache(), "jwtVerifications");
+        return decoder;
+    }
+
+    static ReactiveJwtDecoder verifyingDecoder(JwkSetCache jwkSetCache, String issuerUri) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder
+                .withJwkSource((SignedJWT signedJwt) -> jwkSetCache.keys(signedJwt.getHeader().getKeyID()))
+                .build();
+        decoder.setJwtValidator(issuerUri == null
+                ? JwtValidators.createDefault()
+                : JwtValidators.createDefaultWithIssuer(issuerUri));
+        return decoder;
+    }
+}
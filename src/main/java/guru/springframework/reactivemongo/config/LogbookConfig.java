@@ -1,9 +1,11 @@
 package guru.springframework.reactivemongo.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.zalando.logbook.HttpLogFormatter;
 import org.zalando.logbook.Sink;
+import org.zalando.logbook.Strategy;
 import org.zalando.logbook.json.JsonHttpLogFormatter;
 import org.zalando.logbook.logstash.LogstashLogbackSink;
 
@@ -12,8 +14,13 @@ import org.zalando.logbook.logstash.LogstashLogbackSink;
 public class LogbookConfig {
 
     @Bean
-    public Sink logbookLogstash() {
-        HttpLogFormatter formatter = new JsonHttpLogFormatter();
+    public Sink logbookLogstash(ObjectMapper objectMapper) {
+        HttpLogFormatter formatter = new JsonHttpLogFormatter(objectMapper);
         return new LogstashLogbackSink(formatter);
     }
+
+    @Bean
+    public Strategy samplingLogbookStrategy(LogbookSamplingProperties properties) {
+        return new SamplingLogbookStrategy(properties);
+    }
 }
@@ -0,0 +1,26 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("sfg.logbook")
+public class LogbookSamplingProperties {
+    /**
+     * Share of successful exchanges that get logged, between 0 and 1.
+     * Errors and slow exchanges are always logged.
+     */
+    private double sampleRate = 0.1;
+
+    /**
+     * Exchanges taking at least this long are logged regardless of sampling.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Logs method, path, status and headers only, bodies are never buffered.
+     */
+    private boolean headersOnly = false;
+}
@@ -0,0 +1,88 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("sfg.mongo")
+public class MongoClientProperties {
+    /**
+     * {@code host:port} of each member, the driver discovers the rest of a replica set.
+     */
+    private List<String> hosts = new ArrayList<>(List.of("127.0.0.1:27017"));
+
+    private String database = "sfg";
+
+    /**
+     * Left blank to connect without authentication.
+     */
+    private String username = "root";
+
+    private String password = "example";
+
+    private String authenticationDatabase = "admin";
+
+    /**
+     * Wire compressors offered to the server in order of preference, any of
+     * {@code zstd}, {@code snappy} and {@code zlib}. The server picks the first it supports.
+     */
+    private List<String> compressors = new ArrayList<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Socket read timeout, zero waits forever and leaves timing out to the caller.
+     */
+    private Duration readTimeout = Duration.ZERO;
+
+    private Duration serverSelectionTimeout = Duration.ofSeconds(30);
+
+    private final Pool pool = new Pool();
+
+    @Data
+    public static class Pool {
+        private int maxSize = 100;
+
+        private int minSize = 0;
+
+        /**
+         * Connections that may be established concurrently, caps the
+         * handshake storm after a failover.
+         */
+        private int maxConnecting = 2;
+
+        /**
+         * How long a caller waits for a free connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofMinutes(2);
+
+        /**
+         * Idle connections are closed after this long, zero keeps them open.
+         */
+        private Duration maxConnectionIdleTime = Duration.ZERO;
+
+        private final Saturation saturation = new Saturation();
+    }
+
+    /**
+     * Thresholds past which the pool is reported degraded and readiness fails.
+     */
+    @Data
+    public static class Saturation {
+        /**
+         * Callers waiting for a connection right now.
+         */
+        private int waitQueueThreshold = 10;
+
+        /**
+         * Slowest checkout seen within {@link #window}.
+         */
+        private Duration checkoutTimeThreshold = Duration.ofMillis(100);
+
+        private Duration window = Duration.ofSeconds(30);
+    }
+}
@@ -1,38 +1,98 @@
 package guru.springframework.reactivemongo.config;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.ServerAddress;
+import com.mongodb.event.CommandListener;
 import com.mongodb.reactivestreams.client.MongoClient;
-import com.mongodb.reactivestreams.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractReactiveMongoConfiguration;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import org.springframework.util.StringUtils;
 
-import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.mongodb.MongoCredential.createCredential;
 
 @Configuration
+@EnableReactiveMongoAuditing
+@RequiredArgsConstructor
 public class MongoConfig extends AbstractReactiveMongoConfiguration {
+    private final MongoClientProperties properties;
+    private final MongoPoolHealthIndicator poolHealthIndicator;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<CommandListener> commandListeners;
+    private final ObjectProvider<MongoMetricsConnectionPoolListener> connectionPoolListener;
 
-    @Bean
-    public MongoClient mongoClient() {
-        return MongoClients.create();
-    }
-
+    /**
+     * Boot only attaches its Mongo metrics listeners to the client it
+     * auto-configures, so they are wired here: command latency by collection
+     * and command, pool size, checked-out and wait queue gauges, plus
+     * checkout wait time. Any other {@link CommandListener} bean is attached
+     * the same way.
+     */
     @Override
     protected void configureClientSettings(MongoClientSettings.Builder builder) {
+        MongoClientProperties.Pool pool = properties.getPool();
+
+        if (StringUtils.hasText(properties.getUsername())) {
+            builder.credential(createCredential(
+                    properties.getUsername(),
+                    properties.getAuthenticationDatabase(),
+                    properties.getPassword().toCharArray()));
+        }
         builder
-                .credential(createCredential(
-                        "root",
-                        "admin",
-                        "example".toCharArray()
-                )).applyToClusterSettings(settings ->
-                        settings.hosts(Collections.singletonList(new ServerAddress("127.0.0.1", 27017))));
+                .compressorList(compressors(properties.getCompressors()))
+                .applyToClusterSettings(settings -> settings
+                        .hosts(properties.getHosts().stream().map(ServerAddress::new).toList())
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout(properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToConnectionPoolSettings(settings -> {
+                    settings
+                            .maxSize(pool.getMaxSize())
+                            .minSize(pool.getMinSize())
+                            .maxConnecting(pool.getMaxConnecting())
+                            .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                            .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                            .addConnectionPoolListener(poolHealthIndicator)
+                            .addConnectionPoolListener(new ConnectionPoolWaitTimer(meterRegistry));
+                    connectionPoolListener.ifAvailable(settings::addConnectionPoolListener);
+                });
+        commandListeners.orderedStream().forEach(builder::addCommandListener);
+    }
+
+    /**
+     * The base class builds its client without declaring it as a bean, so it
+     * is declared here to keep Boot from auto-configuring a second client
+     * against localhost.
+     */
+    @Bean
+    @Override
+    public MongoClient reactiveMongoClient() {
+        return super.reactiveMongoClient();
     }
 
     @Override
     protected String getDatabaseName() {
-        return "sfg";
+        return properties.getDatabase();
+    }
+
+    private static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream()
+                .map(name -> switch (name.toLowerCase()) {
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+                })
+                .toList();
     }
 }
@@ -0,0 +1,42 @@
+package guru.springframework.reactivemongo.config;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Creates the indexes declared on the documents before the application
+ * starts serving, instead of relying on the asynchronous auto index creation.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MongoIndexInitializer implements ApplicationRunner {
+    private final ReactiveMongoTemplate template;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureIndexes().block();
+    }
+
+    public Mono<Void> ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(template.getConverter().getMappingContext());
+        return Flux.just(Beer.class, Customer.class)
+                .flatMap(type -> Flux
+                        .fromIterable(resolver.resolveIndexFor(type))
+                        .concatMap(index -> template.indexOps(type).ensureIndex(index)))
+                .doOnNext(index -> log.debug("Ensured index {}", index))
+                .then();
+    }
+}
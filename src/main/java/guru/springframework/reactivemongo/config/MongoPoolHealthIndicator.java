@@ -0,0 +1,71 @@
+package guru.springframework.reactivemongo.config;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.TimeWindowMax;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports {@code DEGRADED} while callers queue for connections or checkouts
+ * get slow, so the readiness group fails and the load balancer drains this
+ * node before requests start timing out. Registered as the
+ * {@code mongoPoolSaturation} health contributor.
+ */
+@Component("mongoPoolSaturationHealthIndicator")
+public class MongoPoolHealthIndicator implements ConnectionPoolListener, ReactiveHealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "Mongo connection pool saturated");
+
+    private static final int WINDOW_BUFFERS = 3;
+
+    private final MongoClientProperties.Saturation thresholds;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final TimeWindowMax checkoutTime;
+
+    public MongoPoolHealthIndicator(MongoClientProperties properties) {
+        this.thresholds = properties.getPool().getSaturation();
+        this.checkoutTime = new TimeWindowMax(Clock.SYSTEM,
+                thresholds.getWindow().toMillis() / WINDOW_BUFFERS, WINDOW_BUFFERS);
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkoutTime.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        checkoutTime.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Mono<Health> health() {
+        return Mono.fromSupplier(() -> {
+            int queued = waiting.get();
+            Duration slowest = Duration.ofNanos((long) checkoutTime.poll(TimeUnit.NANOSECONDS));
+            boolean saturated = queued > thresholds.getWaitQueueThreshold()
+                    || slowest.compareTo(thresholds.getCheckoutTimeThreshold()) > 0;
+            return Health.status(saturated ? DEGRADED : Status.UP)
+                    .withDetail("waitQueueSize", queued)
+                    .withDetail("maxCheckoutTime", slowest.toMillis() + "ms")
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.RequiredArgsConstructor;
+import org.zalando.logbook.Correlation;
+import org.zalando.logbook.HttpMessage;
+import org.zalando.logbook.HttpRequest;
+import org.zalando.logbook.HttpResponse;
+import org.zalando.logbook.Precorrelation;
+import org.zalando.logbook.Sink;
+import org.zalando.logbook.Strategy;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Logs every error and slow exchange but only a sample of the successful
+ * ones, and only buffers a response body when it is going to be written.
+ * Request and response are written together once status and duration are known.
+ * Streaming exchanges are never logged, buffering an unbounded body would
+ * hold the whole stream in memory.
+ */
+@RequiredArgsConstructor
+public class SamplingLogbookStrategy implements Strategy {
+    private static final List<String> STREAMING_TYPES = List.of("application/x-ndjson", "text/event-stream");
+
+    private final LogbookSamplingProperties properties;
+
+    @Override
+    public HttpRequest process(HttpRequest request) throws IOException {
+        return properties.isHeadersOnly() || isStreaming(request) ? request.withoutBody() : request.withBody();
+    }
+
+    @Override
+    public void write(Precorrelation precorrelation, HttpRequest request, Sink sink) {
+        // written together with the response
+    }
+
+    @Override
+    public HttpResponse process(HttpRequest request, HttpResponse response) throws IOException {
+        return !properties.isHeadersOnly() && !isStreaming(request) && (isError(response) || isSampled(request))
+                ? response.withBody()
+                : response.withoutBody();
+    }
+
+    @Override
+    public void write(Correlation correlation, HttpRequest request, HttpResponse response, Sink sink) throws IOException {
+        if (isStreaming(request) || hasStreamingBody(response))
+            return;
+        if (isError(response) || isSlow(correlation) || isSampled(request))
+            sink.writeBoth(correlation, request, response);
+    }
+
+    private boolean isError(HttpResponse response) {
+        return response.getStatus() >= 400;
+    }
+
+    private boolean isSlow(Correlation correlation) {
+        return correlation.getDuration().compareTo(properties.getSlowThreshold()) >= 0;
+    }
+
+    /**
+     * Logbook hands the same request instance to response processing and to
+     * the final write, so its identity hash gives both the same answer without
+     * keeping per-exchange state.
+     */
+    private boolean isSampled(HttpRequest request) {
+        long hash = Integer.toUnsignedLong(System.identityHashCode(request) * 0x9E3779B9);
+        return hash < properties.getSampleRate() * 0x1_0000_0000L;
+    }
+
+    private static boolean isStreaming(HttpRequest request) {
+        return hasStreamingBody(request)
+                || matchesStreamingType(request.getHeaders().getFirst("Accept"));
+    }
+
+    private static boolean hasStreamingBody(HttpMessage message) {
+        return matchesStreamingType(message.getContentType());
+    }
+
+    private static boolean matchesStreamingType(String value) {
+        return value != null && STREAMING_TYPES.stream().anyMatch(value::contains);
+    }
+}
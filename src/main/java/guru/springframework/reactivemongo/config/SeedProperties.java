@@ -0,0 +1,40 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("sfg.seed")
+public class SeedProperties {
+    private boolean enabled = true;
+
+    /**
+     * Deletes every beer and customer first, so every run starts from the same
+     * data set. Off unless the perf profile is active, otherwise only empty
+     * collections are seeded and existing data is left alone.
+     */
+    private boolean replace = false;
+
+    private long beers = 100;
+
+    private long customers = 100;
+
+    /**
+     * Same seed, same documents and ids, whatever the batch size or concurrency.
+     */
+    private long seed = 42;
+
+    /**
+     * Documents sent in one unordered insertMany.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Batches in flight at once, keep it below the connection pool size.
+     */
+    private int concurrency = 8;
+
+    private Duration progressInterval = Duration.ofSeconds(5);
+}
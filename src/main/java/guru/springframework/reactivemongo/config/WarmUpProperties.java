@@ -0,0 +1,43 @@
+package guru.springframework.reactivemongo.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("sfg.warm-up")
+public class WarmUpProperties {
+    private boolean enabled = true;
+
+    /**
+     * Connections opened before serving, at least the pool's minimum size.
+     */
+    private int connections = 10;
+
+    /**
+     * Rounds of requests sent through every route, enough for the JIT to
+     * compile the handler, mapper and codec paths.
+     */
+    private int routeIterations = 20;
+
+    /**
+     * Also sends creates, updates and deletes. They act on the live
+     * collections through scratch documents, so leave this off against
+     * shared data.
+     */
+    private boolean writes = false;
+
+    private final Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        /**
+         * Mongo filter selecting the beers to load into the cache, most
+         * recently modified first.
+         */
+        private String beerQuery = "{}";
+
+        private String customerQuery = "{}";
+
+        private int limit = 500;
+    }
+}
@@ -4,8 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,14 +23,25 @@ import java.time.LocalDateTime;
 @Builder
 @Data
 @Document
+@CompoundIndex(name = "style_id", def = "{'style': 1, '_id': 1}")
 public class Beer {
     @Id
     private String id;
+    @Indexed
+    @TextIndexed(weight = 3)
     private String name;
+    @TextIndexed
     private String style;
+    @Indexed
     private String upc;
     private Integer quantityOnHand;
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal price;
+    @Version
+    private Long version;
+    @CreatedDate
     private LocalDateTime createdDate;
+    @LastModifiedDate
+    @Indexed
     private LocalDateTime lastModifiedDate;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package guru.springframework.reactivemongo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+
+/**
+ * Running totals for one beer style, keyed by the style itself.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+@Document(BeerStyleSummary.COLLECTION)
+public class BeerStyleSummary {
+    public static final String COLLECTION = "beer_style_summary";
+
+    @Id
+    private String style;
+    private long count;
+    private long totalQuantity;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal stockValue;
+}
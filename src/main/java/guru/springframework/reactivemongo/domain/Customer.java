@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -22,11 +24,16 @@ public class Customer {
     private String id;
 
     @Size(max = 255)
+    @Indexed
     private String name;
 
+    @Version
+    private Long version;
+
     @CreatedDate
     private LocalDateTime createdDate;
 
     @LastModifiedDate
+    @Indexed
     private LocalDateTime lastModifiedDate;
 }
\ No newline at end of file
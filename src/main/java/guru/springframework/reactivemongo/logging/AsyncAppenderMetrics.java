@@ -0,0 +1,46 @@
+package guru.springframework.reactivemongo.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes drop counters and free queue slots of every
+ * {@link DroppingAsyncAppender} attached to the root logger.
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+    public static final String DROPPED = "logback.async.dropped";
+    public static final String REMAINING = "logback.async.queue.remaining";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context))
+            return;
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appender -> {
+            if (appender instanceof DroppingAsyncAppender async)
+                bind(registry, async);
+        });
+    }
+
+    private void bind(MeterRegistry registry, DroppingAsyncAppender appender) {
+        FunctionCounter.builder(DROPPED, appender, DroppingAsyncAppender::getDiscardedCount)
+                .tag("appender", appender.getName())
+                .tag("reason", "discarded")
+                .description("DEBUG and TRACE events shed past the discarding threshold")
+                .register(registry);
+        FunctionCounter.builder(DROPPED, appender, DroppingAsyncAppender::getOverflowedCount)
+                .tag("appender", appender.getName())
+                .tag("reason", "overflow")
+                .description("Events dropped because the queue was full")
+                .register(registry);
+        Gauge.builder(REMAINING, appender, DroppingAsyncAppender::getRemainingCapacity)
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
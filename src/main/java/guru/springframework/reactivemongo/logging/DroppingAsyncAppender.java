@@ -0,0 +1,53 @@
+package guru.springframework.reactivemongo.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that never blocks the logging thread, so a slow stdout
+ * cannot stall the event loop. Once the queue passes the discarding threshold
+ * DEBUG and TRACE are shed, once it is full anything arriving is dropped.
+ * Both are counted and exposed as metrics by {@link AsyncAppenderMetrics}.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // racy by design, the count is for alerting and need not be exact
+        if (getRemainingCapacity() == 0 && (getDiscardingThreshold() == 0 || !isDebugOrBelow(event)))
+            overflowed.increment();
+        super.append(event);
+    }
+
+    /**
+     * Only called while the queue is past the discarding threshold.
+     */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        if (!isDebugOrBelow(event))
+            return false;
+        discarded.increment();
+        return true;
+    }
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    public long getOverflowedCount() {
+        return overflowed.sum();
+    }
+
+    private static boolean isDebugOrBelow(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+}
@@ -0,0 +1,10 @@
+package guru.springframework.reactivemongo.mappers;
+
+import guru.springframework.reactivemongo.domain.BeerStyleSummary;
+import guru.springframework.reactivemongo.model.BeerStyleSummaryDTO;
+import org.mapstruct.Mapper;
+
+@Mapper
+public interface BeerStyleSummaryMapper {
+    BeerStyleSummaryDTO toSummaryDto(BeerStyleSummary summary);
+}
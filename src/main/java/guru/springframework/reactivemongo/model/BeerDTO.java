@@ -1,5 +1,6 @@
 package guru.springframework.reactivemongo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BeerDTO {
     private String id;
 
@@ -28,6 +30,7 @@ public class BeerDTO {
     private String upc;
     private Integer quantityOnHand;
     private BigDecimal price;
+    private Long version;
     private LocalDateTime createdDate;
     private LocalDateTime lastModifiedDate;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class BeerImportResult {
+    private long index;
+    private String id;
+    private List<String> errors;
+}
@@ -0,0 +1,19 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class BeerStyleSummaryDTO {
+    private String style;
+    private long count;
+    private long totalQuantity;
+    private BigDecimal stockValue;
+}
@@ -0,0 +1,66 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * One page of a keyset (cursor) paginated listing ordered by {@code _id}.
+ * The cursor is an opaque token wrapping the last id of the page; it is
+ * {@code null} when there is nothing left to read.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class CursorPage<T> {
+    public static final int DEFAULT_SIZE = 25;
+    public static final int MAX_SIZE = 500;
+
+    private List<T> content;
+    private String nextCursor;
+
+    /**
+     * Builds a page from a result fetched with {@code size + 1} as limit: the
+     * extra element only tells whether another page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> idExtractor) {
+        if (fetched.size() <= size)
+            return new CursorPage<>(fetched, null);
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(content, encode(idExtractor.apply(content.get(size - 1))));
+    }
+
+    public static int size(Integer requested) {
+        if (requested == null)
+            return DEFAULT_SIZE;
+        if (requested < 1)
+            throw new ResponseStatusException(BAD_REQUEST, "Page size must be positive");
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null)
+            return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Malformed cursor");
+        }
+    }
+}
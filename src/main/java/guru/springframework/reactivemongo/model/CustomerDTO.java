@@ -1,5 +1,6 @@
 package guru.springframework.reactivemongo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,12 +13,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CustomerDTO {
     private String id;
 
     @NotBlank
     private String name;
 
+    private Long version;
+
     private LocalDateTime createdDate;
     private LocalDateTime lastModifiedDate;
 }
\ No newline at end of file
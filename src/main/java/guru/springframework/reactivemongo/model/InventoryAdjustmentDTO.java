@@ -0,0 +1,23 @@
+package guru.springframework.reactivemongo.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class InventoryAdjustmentDTO {
+    /**
+     * Bounded so that {@code -delta} cannot overflow in the stock guard.
+     */
+    @NotNull
+    @Min(-Integer.MAX_VALUE)
+    private Integer delta;
+
+    private boolean allowNegative;
+}
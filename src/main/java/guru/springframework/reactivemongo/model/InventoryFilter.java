@@ -0,0 +1,22 @@
+package guru.springframework.reactivemongo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Inclusive price and quantity ranges, unset bounds are open.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class InventoryFilter {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+}
@@ -1,6 +1,7 @@
 package guru.springframework.reactivemongo.repositories;
 
 import guru.springframework.reactivemongo.domain.Beer;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -8,5 +9,9 @@ import reactor.core.publisher.Mono;
 public interface BeerRepository extends ReactiveMongoRepository<Beer, String> {
     Mono<Beer> findFirstByName(String name);
 
+    @Meta(cursorBatchSize = 100)
     Flux<Beer> findByStyle(String style);
+
+    @Meta(cursorBatchSize = 100)
+    Flux<Beer> streamAllBy();
 }
\ No newline at end of file
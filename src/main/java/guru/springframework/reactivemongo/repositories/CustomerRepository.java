@@ -1,9 +1,14 @@
 package guru.springframework.reactivemongo.repositories;
 
 import guru.springframework.reactivemongo.domain.Customer;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface CustomerRepository extends ReactiveMongoRepository<Customer, String> {
     Mono<Customer> findFirstByName(String name);
+
+    @Meta(cursorBatchSize = 100)
+    Flux<Customer> streamAllBy();
 }
\ No newline at end of file
@@ -1,23 +1,63 @@
 package guru.springframework.reactivemongo.services;
 
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
+import guru.springframework.reactivemongo.model.CursorPage;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.model.InventoryFilter;
+import guru.springframework.reactivemongo.model.StyleAnalyticsDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 public interface BeerService {
     Flux<BeerDTO> beers();
 
+    Mono<CursorPage<BeerDTO>> beers(String cursor, Integer size, Set<String> fields);
+
+    Mono<Long> estimatedCount();
+
+    /**
+     * Opaque value that changes whenever any beer is written or removed.
+     */
+    Mono<String> collectionVersion();
+
     Mono<BeerDTO> saveBeer(BeerDTO beerDTO);
 
+    Flux<BeerImportResult> importBeers(Flux<BeerDTO> beers);
+
     Mono<BeerDTO> findById(String id);
 
+    Mono<BeerDTO> findById(String id, Set<String> fields);
+
     Mono<BeerDTO> updateBeer(String id, BeerDTO beerDTO);
 
     Mono<BeerDTO> patchBeer(String id, BeerDTO beerDTO);
 
-    Mono<Void> deleteBeer(String id);
+    Mono<BeerDTO> adjustInventory(String id, InventoryAdjustmentDTO adjustment);
+
+    Mono<Long> deleteBeer(String id);
+
+    Mono<Long> deleteBeer(String id, Long expectedVersion);
+
+    Mono<BeerDTO> removeBeer(String id);
+
+    Mono<Long> deleteByStyle(String style);
 
     Mono<BeerDTO> findFirstByName(String name);
 
     Flux<BeerDTO> findByStyle(String style);
+
+    Mono<CursorPage<BeerDTO>> findByStyle(String style, String cursor, Integer size, Set<String> fields);
+
+    /**
+     * Beers matching {@code text} on name or style, most relevant first.
+     */
+    Mono<CursorPage<BeerDTO>> search(String text, String cursor, Integer size, Set<String> fields);
+
+    /**
+     * Count, stock and price figures per style, computed by the database.
+     */
+    Flux<StyleAnalyticsDTO> styleAnalytics(InventoryFilter filter);
 }
@@ -1,48 +1,236 @@
 package guru.springframework.reactivemongo.services;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.DeleteResult;
+import guru.springframework.reactivemongo.config.BeerImportProperties;
+import guru.springframework.reactivemongo.config.BeerSearchProperties;
 import guru.springframework.reactivemongo.domain.Beer;
 import guru.springframework.reactivemongo.mappers.BeerMapper;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
+import guru.springframework.reactivemongo.model.CursorPage;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.model.InventoryFilter;
+import guru.springframework.reactivemongo.model.StyleAnalyticsDTO;
 import guru.springframework.reactivemongo.repositories.BeerRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators.Multiply;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
 import org.springframework.validation.Validator;
 import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.Retry;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static guru.springframework.reactivemongo.config.CacheConfig.BEERS;
+import static guru.springframework.reactivemongo.config.CacheConfig.BEERS_BY_NAME;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 public class BeerServiceImpl implements BeerService {
+    private static final int MODIFY_ATTEMPTS = 3;
+
     private final BeerRepository repository;
     private final BeerMapper mapper;
     private final Validator validator;
+    private final ReactiveMongoTemplate template;
+    private final BeerImportProperties importProperties;
+    private final BeerSearchProperties searchProperties;
+    private final BeerStyleSummaryService summaryService;
+    private final CollectionVersions versions;
 
     @Override
     public Flux<BeerDTO> beers() {
         return repository
-                .findAll()
+                .streamAllBy()
                 .map(mapper::toBeerDto);
     }
 
     @Override
+    public Mono<CursorPage<BeerDTO>> beers(String cursor, Integer size, Set<String> fields) {
+        return page(new Query(), cursor, size, fields);
+    }
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return template.estimatedCount(Beer.class);
+    }
+
+    @Override
+    public Mono<String> collectionVersion() {
+        return versions.current(Beer.class);
+    }
+
+    private Mono<CursorPage<BeerDTO>> page(Query query, String cursor, Integer size, Set<String> fields) {
+        return KeysetPaging.page(template, query, cursor, size, fields,
+                Beer.class, BeerDTO.class, mapper::toBeerDto, BeerDTO::getId);
+    }
+
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#beerDTO.id", condition = "#beerDTO.id != null"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
     public Mono<BeerDTO> saveBeer(BeerDTO beerDTO) {
         if (!isValid(beerDTO))
             return Mono.error(new ResponseStatusException(BAD_REQUEST));
-        return repository
-                .save(mapper.toBeer(beerDTO))
+        Beer beer = mapper.toBeer(beerDTO);
+        Mono<Optional<Beer>> before = beer.getId() == null
+                ? Mono.just(Optional.empty())
+                : template.findOne(summarySnapshot(beer.getId()), Beer.class)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty());
+        return before
+                .flatMap(previous -> repository
+                        .save(beer)
+                        .onErrorMap(OptimisticLockingFailureException.class, e -> new ResponseStatusException(CONFLICT))
+                        .flatMap(saved -> summaryService.changed(previous.orElse(null), saved).thenReturn(saved)))
+                .flatMap(saved -> versions.bump(Beer.class).thenReturn(saved))
                 .map(mapper::toBeerDto);
     }
 
+    /**
+     * Just the fields the style summary is computed from, plus the version
+     * they were read at.
+     */
+    private static Query summarySnapshot(String id) {
+        Query query = new Query(where("id").is(id));
+        query.fields().include("style", "quantityOnHand", "price", "version");
+        return query;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    public Flux<BeerImportResult> importBeers(Flux<BeerDTO> beers) {
+        return beers
+                .index()
+                .buffer(importProperties.getChunkSize())
+                .flatMapSequential(this::importChunk, importProperties.getConcurrency());
+    }
+
+    private Flux<BeerImportResult> importChunk(List<Tuple2<Long, BeerDTO>> chunk) {
+        List<BeerImportResult> results = new ArrayList<>(chunk.size());
+        List<BeerImportResult> inserted = new ArrayList<>(chunk.size());
+        List<Beer> beers = new ArrayList<>(chunk.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Tuple2<Long, BeerDTO> item : chunk) {
+            Errors errors = validator.validateObject(item.getT2());
+            if (errors.hasErrors()) {
+                results.add(BeerImportResult.builder()
+                        .index(item.getT1())
+                        .errors(errors.getAllErrors().stream().map(this::describe).toList())
+                        .build());
+                continue;
+            }
+            Beer beer = mapper.toBeer(item.getT2());
+            if (beer.getId() == null)
+                beer.setId(new ObjectId().toHexString());
+            beer.setVersion(0L);
+            beer.setCreatedDate(now);
+            beer.setLastModifiedDate(now);
+            BeerImportResult result = BeerImportResult.builder()
+                    .index(item.getT1())
+                    .id(beer.getId())
+                    .build();
+            beers.add(beer);
+            inserted.add(result);
+            results.add(result);
+        }
+
+        if (beers.isEmpty())
+            return Flux.fromIterable(results);
+        return template
+                .bulkOps(BulkMode.UNORDERED, Beer.class)
+                .insert(beers)
+                .execute()
+                .onErrorResume(e -> bulkWriteErrors(e) != null, e -> {
+                    for (BulkWriteError error : bulkWriteErrors(e)) {
+                        BeerImportResult failed = inserted.get(error.getIndex());
+                        failed.setId(null);
+                        failed.setErrors(List.of(error.getMessage()));
+                    }
+                    return Mono.empty();
+                })
+                .then(Mono.defer(() -> {
+                    List<Beer> stored = stored(beers, inserted);
+                    if (stored.isEmpty())
+                        return Mono.empty();
+                    return summaryService.added(stored).then(versions.bump(Beer.class));
+                }))
+                .thenMany(Flux.fromIterable(results));
+    }
+
+    private static List<Beer> stored(List<Beer> beers, List<BeerImportResult> inserted) {
+        List<Beer> stored = new ArrayList<>(beers.size());
+        for (int i = 0; i < beers.size(); i++)
+            if (inserted.get(i).getId() != null)
+                stored.add(beers.get(i));
+        return stored;
+    }
+
+    private String describe(ObjectError error) {
+        if (error instanceof FieldError fieldError)
+            return fieldError.getField() + ": " + fieldError.getDefaultMessage();
+        return error.getDefaultMessage();
+    }
+
+    /**
+     * Unordered bulk writes keep going past failing documents, the driver
+     * reports those per index while the rest of the chunk is stored.
+     */
+    private List<BulkWriteError> bulkWriteErrors(Throwable e) {
+        if (e instanceof BulkOperationException bulkException)
+            return bulkException.getErrors();
+        if (e.getCause() instanceof MongoBulkWriteException bulkWriteException)
+            return bulkWriteException.getWriteErrors();
+        return null;
+    }
+
     private boolean isValid(BeerDTO beerDTO) {
         return !validator.validateObject(beerDTO).hasErrors();
     }
 
     @Override
+    @Cacheable(cacheNames = BEERS, key = "#id")
     public Mono<BeerDTO> findById(String id) {
         return repository
                 .findById(id)
@@ -51,62 +239,188 @@ public class BeerServiceImpl implements BeerService {
     }
 
     @Override
+    public Mono<BeerDTO> findById(String id, Set<String> fields) {
+        return Mono
+                .fromSupplier(() -> Projections.include(new Query(where("id").is(id)), fields, BeerDTO.class))
+                .flatMap(query -> template.findOne(query, Beer.class))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
+                .map(mapper::toBeerDto);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
     public Mono<BeerDTO> updateBeer(String id, BeerDTO beerDTO) {
         if (!isValid(beerDTO))
             return Mono.error(new ResponseStatusException(BAD_REQUEST));
-        return repository
-                .findById(id)
+        Update update = new Update()
+                .set("name", beerDTO.getName())
+                .set("style", beerDTO.getStyle())
+                .set("price", beerDTO.getPrice())
+                .set("upc", beerDTO.getUpc())
+                .set("quantityOnHand", beerDTO.getQuantityOnHand());
+        return modify(id, beerDTO.getVersion(), update);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<BeerDTO> patchBeer(String id, BeerDTO beerDTO) {
+        if (!isValid(beerDTO))
+            return Mono.error(new ResponseStatusException(BAD_REQUEST));
+        Update update = new Update();
+        if (StringUtils.hasText(beerDTO.getName()))
+            update.set("name", beerDTO.getName());
+        if (StringUtils.hasText(beerDTO.getStyle()))
+            update.set("style", beerDTO.getStyle());
+        if (beerDTO.getPrice() != null)
+            update.set("price", beerDTO.getPrice());
+        if (StringUtils.hasText(beerDTO.getUpc()))
+            update.set("upc", beerDTO.getUpc());
+        if (beerDTO.getQuantityOnHand() != null)
+            update.set("quantityOnHand", beerDTO.getQuantityOnHand());
+        return modify(id, beerDTO.getVersion(), update);
+    }
+
+    /**
+     * Reads the summary fields, then applies the update only if the version is
+     * still the one read, so the style summary delta is exact. When the client
+     * sent the version it read and it no longer matches, the caller gets a 409
+     * instead of overwriting a concurrent write; without one, a lost race is
+     * retried against a fresh snapshot.
+     */
+    private Mono<BeerDTO> modify(String id, Long expectedVersion, Update update) {
+        update.inc("version", 1).set("lastModifiedDate", LocalDateTime.now());
+        return Mono
+                .defer(() -> template.findOne(summarySnapshot(id), Beer.class))
                 .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
-                .map(saved -> {
-                    updateBeer(beerDTO, saved);
-                    return saved;
+                .flatMap(before -> {
+                    if (expectedVersion != null && !expectedVersion.equals(before.getVersion()))
+                        return Mono.error(new ResponseStatusException(CONFLICT));
+                    Query query = new Query(where("id").is(id).and("version").is(before.getVersion()));
+                    return template
+                            .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Beer.class)
+                            .switchIfEmpty(Mono.error(StaleSnapshotException::new))
+                            .flatMap(after -> summaryService.changed(before, after).thenReturn(after));
                 })
-                .flatMap(repository::save)
+                .retryWhen(Retry.max(MODIFY_ATTEMPTS - 1)
+                        .filter(StaleSnapshotException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> new ResponseStatusException(CONFLICT)))
+                .flatMap(after -> versions.bump(Beer.class).thenReturn(after))
                 .map(mapper::toBeerDto);
     }
 
-    private void updateBeer(BeerDTO beerDTO, Beer saved) {
-        saved.setName(beerDTO.getName());
-        saved.setStyle(beerDTO.getStyle());
-        saved.setPrice(beerDTO.getPrice());
-        saved.setUpc(beerDTO.getUpc());
-        saved.setQuantityOnHand(beerDTO.getQuantityOnHand());
+    private static class StaleSnapshotException extends RuntimeException {
+        StaleSnapshotException() {
+            super(null, null, false, false);
+        }
     }
 
     @Override
-    public Mono<BeerDTO> patchBeer(String id, BeerDTO beerDTO) {
-        if (!isValid(beerDTO))
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<BeerDTO> adjustInventory(String id, InventoryAdjustmentDTO adjustment) {
+        if (validator.validateObject(adjustment).hasErrors())
             return Mono.error(new ResponseStatusException(BAD_REQUEST));
-        return repository
-                .findById(id)
-                .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
-                .map(saved -> {
-                    patchBeer(beerDTO, saved);
-                    return saved;
+        int delta = adjustment.getDelta();
+        Query query = new Query(where("id").is(id));
+        if (delta < 0 && !adjustment.isAllowNegative())
+            query.addCriteria(where("quantityOnHand").gte(-delta));
+        query.fields().include("style", "quantityOnHand", "price", "version");
+        Update update = new Update()
+                .inc("quantityOnHand", delta)
+                .inc("version", 1)
+                .set("lastModifiedDate", LocalDateTime.now());
+        return template
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Beer.class)
+                .switchIfEmpty(Mono.defer(() -> template
+                        .exists(new Query(where("id").is(id)), Beer.class)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new ResponseStatusException(CONFLICT, "Insufficient stock")
+                                : new ResponseStatusException(NOT_FOUND)))))
+                .flatMap(after -> {
+                    Beer before = Beer.builder()
+                            .style(after.getStyle())
+                            .price(after.getPrice())
+                            .quantityOnHand(after.getQuantityOnHand() - delta)
+                            .build();
+                    return summaryService.changed(before, after).thenReturn(after);
                 })
-                .flatMap(repository::save)
+                .flatMap(after -> versions.bump(Beer.class).thenReturn(after))
                 .map(mapper::toBeerDto);
     }
 
-    private void patchBeer(BeerDTO beerDTO, Beer saved) {
-        if (StringUtils.hasText(beerDTO.getName()))
-            saved.setName(beerDTO.getName());
-        if (StringUtils.hasText(beerDTO.getStyle()))
-            saved.setStyle(beerDTO.getStyle());
-        if (beerDTO.getPrice() != null)
-            saved.setPrice(beerDTO.getPrice());
-        if (StringUtils.hasText(beerDTO.getUpc()))
-            saved.setUpc(beerDTO.getUpc());
-        if (beerDTO.getQuantityOnHand() != null)
-            saved.setQuantityOnHand(beerDTO.getQuantityOnHand());
+    private Mono<Beer> conflictOrNotFound(String id, Long expectedVersion) {
+        if (expectedVersion == null)
+            return Mono.error(new ResponseStatusException(NOT_FOUND));
+        return template
+                .exists(new Query(where("id").is(id)), Beer.class)
+                .flatMap(exists -> Mono.error(new ResponseStatusException(exists ? CONFLICT : NOT_FOUND)));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<Long> deleteBeer(String id) {
+        return deleteBeer(id, null);
     }
 
     @Override
-    public Mono<Void> deleteBeer(String id) {
-        return repository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<Long> deleteBeer(String id, Long expectedVersion) {
+        Query query = new Query(where("id").is(id));
+        if (expectedVersion != null)
+            query.addCriteria(where("version").is(expectedVersion));
+        query.fields().include("style", "quantityOnHand", "price");
+        return template
+                .findAndRemove(query, Beer.class)
+                .flatMap(removed -> summaryService.changed(removed, null).thenReturn(1L))
+                .flatMap(deleted -> versions.bump(Beer.class).thenReturn(deleted))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion != null
+                        ? conflictOrNotFound(id, expectedVersion).thenReturn(0L)
+                        : Mono.just(0L)));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, key = "#id"),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<BeerDTO> removeBeer(String id) {
+        return template
+                .findAndRemove(new Query(where("id").is(id)), Beer.class)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
+                .flatMap(removed -> summaryService.changed(removed, null).thenReturn(removed))
+                .flatMap(removed -> versions.bump(Beer.class).thenReturn(removed))
+                .map(mapper::toBeerDto);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = BEERS, allEntries = true),
+            @CacheEvict(cacheNames = BEERS_BY_NAME, allEntries = true)
+    })
+    public Mono<Long> deleteByStyle(String style) {
+        return template
+                .remove(new Query(where("style").is(style)), Beer.class)
+                .map(DeleteResult::getDeletedCount)
+                .flatMap(deleted -> summaryService.styleRemoved(style).thenReturn(deleted))
+                .flatMap(deleted -> deleted == 0 ? Mono.just(deleted) : versions.bump(Beer.class).thenReturn(deleted));
+    }
+
+    @Override
+    @Cacheable(cacheNames = BEERS_BY_NAME, key = "#name")
     public Mono<BeerDTO> findFirstByName(String name) {
         return repository
                 .findFirstByName(name)
@@ -120,4 +434,87 @@ public class BeerServiceImpl implements BeerService {
                 .findByStyle(style)
                 .map(mapper::toBeerDto);
     }
+
+    @Override
+    public Mono<CursorPage<BeerDTO>> findByStyle(String style, String cursor, Integer size, Set<String> fields) {
+        return page(new Query(where("style").is(style)), cursor, size, fields);
+    }
+
+    /**
+     * Relevance order has no key to resume after, so the cursor wraps an
+     * offset instead. Paging stops at {@code maxResults}: the text stage scores
+     * every match before sorting, deep pages would cost as much as a full scan.
+     */
+    @Override
+    public Mono<CursorPage<BeerDTO>> search(String text, String cursor, Integer size, Set<String> fields) {
+        return Mono.defer(() -> {
+            if (!StringUtils.hasText(text))
+                return Mono.error(new ResponseStatusException(BAD_REQUEST, "Search text is required"));
+            int pageSize = CursorPage.size(size);
+            int offset = offset(cursor);
+            int limit = Math.min(pageSize + 1, searchProperties.getMaxResults() - offset);
+            if (limit <= 0)
+                return Mono.just(new CursorPage<BeerDTO>(List.of(), null));
+            Query query = TextQuery
+                    .queryText(TextCriteria.forDefaultLanguage().matching(text))
+                    .sortByScore()
+                    .with(Sort.by("id"))
+                    .skip(offset)
+                    .limit(limit);
+            return template
+                    .find(Projections.include(query, fields, BeerDTO.class), Beer.class)
+                    .map(mapper::toBeerDto)
+                    .collectList()
+                    .map(beers -> beers.size() > pageSize && offset + pageSize < searchProperties.getMaxResults()
+                            ? new CursorPage<>(beers.subList(0, pageSize), CursorPage.encode(Integer.toString(offset + pageSize)))
+                            : new CursorPage<>(beers.subList(0, Math.min(beers.size(), pageSize)), null));
+        });
+    }
+
+    @Override
+    public Flux<StyleAnalyticsDTO> styleAnalytics(InventoryFilter filter) {
+        TypedAggregation<Beer> aggregation = newAggregation(Beer.class,
+                match(inventoryCriteria(filter)),
+                group("style")
+                        .count().as("count")
+                        .sum("quantityOnHand").as("totalQuantity")
+                        .sum(Multiply.valueOf("quantityOnHand").multiplyBy("price")).as("stockValue")
+                        .min("price").as("minPrice")
+                        .max("price").as("maxPrice")
+                        .avg("price").as("avgPrice"),
+                project("count", "totalQuantity", "stockValue", "minPrice", "maxPrice", "avgPrice")
+                        .and("style").previousOperation(),
+                sort(Sort.by("style")));
+        return template.aggregate(aggregation, StyleAnalyticsDTO.class);
+    }
+
+    private static Criteria inventoryCriteria(InventoryFilter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            Criteria price = criteria.and("price");
+            if (filter.getMinPrice() != null)
+                price.gte(filter.getMinPrice());
+            if (filter.getMaxPrice() != null)
+                price.lte(filter.getMaxPrice());
+        }
+        if (filter.getMinQuantity() != null || filter.getMaxQuantity() != null) {
+            Criteria quantity = criteria.and("quantityOnHand");
+            if (filter.getMinQuantity() != null)
+                quantity.gte(filter.getMinQuantity());
+            if (filter.getMaxQuantity() != null)
+                quantity.lte(filter.getMaxQuantity());
+        }
+        return criteria;
+    }
+
+    private static int offset(String cursor) {
+        String offset = CursorPage.decode(cursor);
+        if (offset == null)
+            return 0;
+        try {
+            return Math.max(0, Integer.parseInt(offset));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Malformed cursor");
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.config.BeerSummaryProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Rebuilds the style summary at startup and then every
+ * {@code sfg.beer-summary.reconcile-interval}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BeerStyleSummaryReconciler implements SmartLifecycle {
+    private final BeerStyleSummaryService summaryService;
+    private final BeerSummaryProperties properties;
+
+    private volatile Disposable reconciler;
+
+    @Override
+    public void start() {
+        reconciler = Flux.interval(Duration.ZERO, properties.getReconcileInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> summaryService.reconcile()
+                        .doOnSuccess(ignored -> log.debug("Reconciled beer style summary"))
+                        .onErrorResume(e -> {
+                            log.warn("Beer style summary reconciliation failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        reconciler.dispose();
+        reconciler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reconciler != null;
+    }
+}
@@ -0,0 +1,27 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.model.BeerStyleSummaryDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface BeerStyleSummaryService {
+    Flux<BeerStyleSummaryDTO> summaries();
+
+    /**
+     * Moves the totals from {@code before} to {@code after}, either may be
+     * {@code null} for an insert or a delete.
+     */
+    Mono<Void> changed(Beer before, Beer after);
+
+    Mono<Void> added(Collection<Beer> beers);
+
+    Mono<Void> styleRemoved(String style);
+
+    /**
+     * Rebuilds every summary from the beer collection.
+     */
+    Mono<Void> reconcile();
+}
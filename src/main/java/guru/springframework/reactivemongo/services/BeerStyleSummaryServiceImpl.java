@@ -0,0 +1,146 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.BeerStyleSummary;
+import guru.springframework.reactivemongo.mappers.BeerStyleSummaryMapper;
+import guru.springframework.reactivemongo.model.BeerStyleSummaryDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators.Multiply;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.out;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Keeps {@code beer_style_summary} in step with the beer collection by
+ * applying {@code $inc} deltas, so reading it costs one document per style
+ * however many beers there are. Summary writes are best effort: a failed
+ * one is logged and left for the next {@link #reconcile()}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerStyleSummaryServiceImpl implements BeerStyleSummaryService {
+    private final ReactiveMongoTemplate template;
+    private final BeerStyleSummaryMapper mapper;
+
+    @Override
+    public Flux<BeerStyleSummaryDTO> summaries() {
+        return template
+                .find(new Query().with(Sort.by("style")), BeerStyleSummary.class)
+                .map(mapper::toSummaryDto);
+    }
+
+    @Override
+    public Mono<Void> changed(Beer before, Beer after) {
+        Map<String, Delta> deltas = new HashMap<>();
+        if (before != null)
+            deltas.merge(before.getStyle(), Delta.of(before).negate(), Delta::plus);
+        if (after != null)
+            deltas.merge(after.getStyle(), Delta.of(after), Delta::plus);
+        return apply(deltas);
+    }
+
+    @Override
+    public Mono<Void> added(Collection<Beer> beers) {
+        Map<String, Delta> deltas = new HashMap<>();
+        for (Beer beer : beers)
+            deltas.merge(beer.getStyle(), Delta.of(beer), Delta::plus);
+        return apply(deltas);
+    }
+
+    @Override
+    public Mono<Void> styleRemoved(String style) {
+        return template
+                .remove(new Query(where("style").is(style)), BeerStyleSummary.class)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not remove summary for style {}, left for reconciliation", style, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> apply(Map<String, Delta> deltas) {
+        ReactiveBulkOperations bulk = template.bulkOps(BulkMode.UNORDERED, BeerStyleSummary.class);
+        boolean changed = false;
+        for (Map.Entry<String, Delta> delta : deltas.entrySet()) {
+            if (delta.getValue().isZero())
+                continue;
+            bulk.upsert(new Query(where("style").is(delta.getKey())), delta.getValue().toUpdate());
+            changed = true;
+        }
+        if (!changed)
+            return Mono.empty();
+        return bulk
+                .execute()
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not apply summary deltas for styles {}, left for reconciliation", deltas.keySet(), e);
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * {@code $out} swaps the rebuilt collection in atomically, readers never
+     * see a partial summary. Deltas applied while the pipeline runs may be
+     * lost or counted twice; the next run corrects them.
+     */
+    @Override
+    public Mono<Void> reconcile() {
+        return template
+                .aggregate(newAggregation(Beer.class,
+                        group("style")
+                                .count().as("count")
+                                .sum("quantityOnHand").as("totalQuantity")
+                                .sum(Multiply.valueOf("quantityOnHand").multiplyBy("price")).as("stockValue"),
+                        out(BeerStyleSummary.COLLECTION)), Document.class)
+                .then();
+    }
+
+    private record Delta(long count, long quantity, BigDecimal value) {
+        static Delta of(Beer beer) {
+            int quantity = beer.getQuantityOnHand() == null ? 0 : beer.getQuantityOnHand();
+            BigDecimal value = beer.getPrice() == null
+                    ? BigDecimal.ZERO
+                    : beer.getPrice().multiply(BigDecimal.valueOf(quantity));
+            return new Delta(1, quantity, value);
+        }
+
+        Delta negate() {
+            return new Delta(-count, -quantity, value.negate());
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, quantity + other.quantity, value.add(other.value));
+        }
+
+        boolean isZero() {
+            return count == 0 && quantity == 0 && value.signum() == 0;
+        }
+
+        Update toUpdate() {
+            return new Update()
+                    .inc("count", count)
+                    .inc("totalQuantity", quantity)
+                    .inc("stockValue", new Decimal128(value));
+        }
+    }
+}
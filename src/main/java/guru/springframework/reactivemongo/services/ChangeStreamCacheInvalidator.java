@@ -0,0 +1,188 @@
+package guru.springframework.reactivemongo.services;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.OperationType;
+import guru.springframework.reactivemongo.config.ChangeStreamProperties;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveChangeStreamOperation.ChangeStreamWithFilterAndProjection;
+import org.springframework.data.mongodb.core.ReactiveChangeStreamOperation.TerminatingChangeStream;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static guru.springframework.reactivemongo.config.CacheConfig.BEERS;
+import static guru.springframework.reactivemongo.config.CacheConfig.BEERS_BY_NAME;
+import static guru.springframework.reactivemongo.config.CacheConfig.CUSTOMERS;
+import static guru.springframework.reactivemongo.config.CacheConfig.CUSTOMERS_BY_NAME;
+
+/**
+ * Evicts locally cached beers and customers when any node writes them, by
+ * following the collections' change streams. The last processed resume token
+ * is checkpointed so a restarted node picks up where it left off. A drop or
+ * rename invalidates the stream, it is then reopened from the current time,
+ * since an invalidate token cannot be resumed after.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sfg.change-streams.enabled", havingValue = "true")
+public class ChangeStreamCacheInvalidator implements SmartLifecycle {
+    static final String RESUME_TOKENS = "change_stream_resume_tokens";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final Duration REOPEN_DELAY = Duration.ofSeconds(1);
+
+    private final ReactiveMongoTemplate template;
+    private final CacheManager cacheManager;
+    private final ChangeStreamProperties properties;
+
+    private volatile Disposable.Composite subscriptions;
+
+    @Override
+    public void start() {
+        subscriptions = Disposables.composite(
+                watch(template.getCollectionName(Beer.class), BEERS, BEERS_BY_NAME),
+                watch(template.getCollectionName(Customer.class), CUSTOMERS, CUSTOMERS_BY_NAME)
+        );
+    }
+
+    @Override
+    public void stop() {
+        subscriptions.dispose();
+        subscriptions = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscriptions != null;
+    }
+
+    private Disposable watch(String collection, String byIdCacheName, String byNameCacheName) {
+        Cache byId = Objects.requireNonNull(cacheManager.getCache(byIdCacheName));
+        Cache byName = Objects.requireNonNull(cacheManager.getCache(byNameCacheName));
+        AtomicReference<BsonValue> seenToken = new AtomicReference<>();
+        AtomicReference<BsonValue> pendingToken = new AtomicReference<>();
+
+        Flux<Void> events = Mono
+                .defer(() -> Mono.justOrEmpty(seenToken.get()))
+                .switchIfEmpty(loadResumeToken(collection))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(token -> token
+                        .<TerminatingChangeStream<Document>>map(resume(collection)::resumeAfter)
+                        .orElseGet(() -> resume(collection))
+                        .listen())
+                .concatMap(event -> {
+                    invalidate(event, byId, byName);
+                    if (event.getOperationType() == OperationType.INVALIDATE) {
+                        log.info("Change stream for {} invalidated, reopening from now", collection);
+                        seenToken.set(null);
+                        pendingToken.set(null);
+                        return deleteResumeToken(collection);
+                    }
+                    seenToken.set(event.getResumeToken());
+                    pendingToken.set(event.getResumeToken());
+                    return Mono.empty();
+                })
+                .onErrorResume(this::isHistoryLost, e -> {
+                    log.warn("Resume token for {} fell off the oplog, starting over", collection);
+                    seenToken.set(null);
+                    pendingToken.set(null);
+                    byId.clear();
+                    byName.clear();
+                    return deleteResumeToken(collection).then(Mono.error(e));
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .repeatWhen(completed -> completed.delayElements(REOPEN_DELAY));
+
+        Flux<Void> checkpoints = Flux
+                .interval(properties.getCheckpointInterval())
+                .concatMap(tick -> {
+                    BsonValue token = pendingToken.getAndSet(null);
+                    return token == null ? Mono.empty() : saveResumeToken(collection, token);
+                })
+                .onErrorContinue((e, tick) -> log.warn("Could not checkpoint {} change stream", collection, e));
+
+        return Disposables.composite(events.subscribe(), checkpoints.subscribe());
+    }
+
+    private ChangeStreamWithFilterAndProjection<Document> resume(String collection) {
+        return template
+                .changeStream(Document.class)
+                .watchCollection(collection);
+    }
+
+    private void invalidate(ChangeStreamEvent<Document> event, Cache byId, Cache byName) {
+        OperationType operationType = event.getOperationType();
+        if (operationType == OperationType.DROP || operationType == OperationType.INVALIDATE
+                || event.getRaw() == null || event.getRaw().getDocumentKey() == null) {
+            byId.clear();
+            byName.clear();
+            return;
+        }
+        BsonValue id = event.getRaw().getDocumentKey().get("_id");
+        if (id != null && id.isObjectId())
+            byId.evict(id.asObjectId().getValue().toHexString());
+        else if (id != null && id.isString())
+            byId.evict(id.asString().getValue());
+        else
+            byId.clear();
+        byName.clear();
+    }
+
+    private boolean isHistoryLost(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause())
+            if (cause instanceof MongoException mongoException && mongoException.getCode() == CHANGE_STREAM_HISTORY_LOST)
+                return true;
+        return false;
+    }
+
+    private Mono<BsonValue> loadResumeToken(String collection) {
+        return template
+                .getCollection(RESUME_TOKENS)
+                .flatMap(tokens -> Mono.from(tokens
+                        .withDocumentClass(BsonDocument.class)
+                        .find(Filters.eq("_id", collection))
+                        .first()))
+                .mapNotNull(document -> document.get("token"));
+    }
+
+    private Mono<Void> saveResumeToken(String collection, BsonValue token) {
+        BsonDocument document = new BsonDocument("_id", new BsonString(collection)).append("token", token);
+        return template
+                .getCollection(RESUME_TOKENS)
+                .flatMap(tokens -> Mono.from(tokens
+                        .withDocumentClass(BsonDocument.class)
+                        .replaceOne(Filters.eq("_id", collection), document, new ReplaceOptions().upsert(true))))
+                .then();
+    }
+
+    private Mono<Void> deleteResumeToken(String collection) {
+        return template
+                .getCollection(RESUME_TOKENS)
+                .flatMap(tokens -> Mono.from(tokens.deleteOne(Filters.eq("_id", collection))))
+                .then();
+    }
+}
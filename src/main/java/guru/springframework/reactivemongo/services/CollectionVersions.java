@@ -0,0 +1,57 @@
+package guru.springframework.reactivemongo.services;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Per-collection write counter behind the list ETags. Every write path bumps
+ * it after its write lands, so the version moves on each change whatever the
+ * clock of the node that stamped {@code lastModifiedDate}. The epoch is set
+ * when a counter document is created, so a recreated counter never repeats a
+ * version a client may still hold. A failed bump fails the write's response
+ * rather than leave lists answering 304 with stale data.
+ */
+@Component
+@RequiredArgsConstructor
+public class CollectionVersions {
+    public static final String COLLECTION = "collection_versions";
+
+    private final ReactiveMongoTemplate template;
+
+    public Mono<String> current(Class<?> entityType) {
+        return template
+                .findOne(counter(entityType), Document.class, COLLECTION)
+                .map(counter -> counter.getObjectId("epoch").toHexString()
+                        + "-" + Long.toString(counter.get("version", Number.class).longValue(), 36))
+                .defaultIfEmpty("0");
+    }
+
+    public Mono<Void> bump(Class<?> entityType) {
+        Update update = new Update()
+                .inc("version", 1L)
+                .setOnInsert("epoch", new ObjectId());
+        return template
+                .upsert(counter(entityType), update, COLLECTION)
+                .then();
+    }
+
+    /**
+     * Bumps once {@code write} has produced its result, an empty write
+     * changed nothing and leaves the version alone.
+     */
+    public <T> Mono<T> after(Class<?> entityType, Mono<T> write) {
+        return write.flatMap(result -> bump(entityType).thenReturn(result));
+    }
+
+    private Query counter(Class<?> entityType) {
+        return new Query(where("_id").is(template.getCollectionName(entityType)));
+    }
+}
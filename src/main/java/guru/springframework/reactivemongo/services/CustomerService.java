@@ -1,21 +1,39 @@
 package guru.springframework.reactivemongo.services;
 
+import guru.springframework.reactivemongo.model.CursorPage;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Set;
+
 public interface CustomerService {
     Flux<CustomerDTO> customers();
 
+    Mono<CursorPage<CustomerDTO>> customers(String cursor, Integer size, Set<String> fields);
+
+    Mono<Long> estimatedCount();
+
+    /**
+     * Opaque value that changes whenever any customer is written or removed.
+     */
+    Mono<String> collectionVersion();
+
     Mono<CustomerDTO> saveCustomer(CustomerDTO customerDTO);
 
     Mono<CustomerDTO> findById(String id);
 
+    Mono<CustomerDTO> findById(String id, Set<String> fields);
+
     Mono<CustomerDTO> updateCustomer(String id, CustomerDTO customerDTO);
 
     Mono<CustomerDTO> patchCustomer(String id, CustomerDTO customerDTO);
 
-    Mono<Void> deleteCustomer(String id);
+    Mono<Long> deleteCustomer(String id);
+
+    Mono<Long> deleteCustomer(String id, Long expectedVersion);
+
+    Mono<CustomerDTO> removeCustomer(String id);
 
     Mono<CustomerDTO> findFirstByName(String name);
 }
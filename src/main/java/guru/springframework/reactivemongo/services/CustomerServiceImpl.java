@@ -1,10 +1,20 @@
 package guru.springframework.reactivemongo.services;
 
+import com.mongodb.client.result.DeleteResult;
 import guru.springframework.reactivemongo.domain.Customer;
 import guru.springframework.reactivemongo.mappers.CustomerMapper;
+import guru.springframework.reactivemongo.model.CursorPage;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import guru.springframework.reactivemongo.repositories.CustomerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Validator;
@@ -12,7 +22,14 @@ import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static guru.springframework.reactivemongo.config.CacheConfig.CUSTOMERS;
+import static guru.springframework.reactivemongo.config.CacheConfig.CUSTOMERS_BY_NAME;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 
 @Service
@@ -21,20 +38,45 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository repository;
     private final CustomerMapper mapper;
     private final Validator validator;
+    private final ReactiveMongoTemplate template;
+    private final CollectionVersions versions;
 
     @Override
     public Flux<CustomerDTO> customers() {
         return repository
-                .findAll()
+                .streamAllBy()
                 .map(mapper::toCustomerDTO);
     }
 
     @Override
+    public Mono<CursorPage<CustomerDTO>> customers(String cursor, Integer size, Set<String> fields) {
+        return KeysetPaging.page(template, new Query(), cursor, size, fields,
+                Customer.class, CustomerDTO.class, mapper::toCustomerDTO, CustomerDTO::getId);
+    }
+
+
+    @Override
+    public Mono<Long> estimatedCount() {
+        return template.estimatedCount(Customer.class);
+    }
+
+    @Override
+    public Mono<String> collectionVersion() {
+        return versions.current(Customer.class);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#customerDTO.id", condition = "#customerDTO.id != null"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
     public Mono<CustomerDTO> saveCustomer(CustomerDTO customerDTO) {
         if (isInvalid(customerDTO))
             return Mono.error(new ResponseStatusException(BAD_REQUEST));
         return repository
                 .save(mapper.toCustomer(customerDTO))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new ResponseStatusException(CONFLICT))
+                .flatMap(saved -> versions.bump(Customer.class).thenReturn(saved))
                 .map(mapper::toCustomerDTO);
     }
 
@@ -43,6 +85,7 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
+    @Cacheable(cacheNames = CUSTOMERS, key = "#id")
     public Mono<CustomerDTO> findById(String id) {
         return repository
                 .findById(id)
@@ -51,50 +94,101 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public Mono<CustomerDTO> updateCustomer(String id, CustomerDTO customerDTO) {
-        if (isInvalid(customerDTO))
-            return Mono.error(new ResponseStatusException(BAD_REQUEST));
-        return repository
-                .findById(id)
+    public Mono<CustomerDTO> findById(String id, Set<String> fields) {
+        return Mono
+                .fromSupplier(() -> Projections.include(new Query(where("id").is(id)), fields, CustomerDTO.class))
+                .flatMap(query -> template.findOne(query, Customer.class))
                 .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
-                .map(saved -> {
-                    updateCustomer(customerDTO, saved);
-                    return saved;
-                })
-                .flatMap(repository::save)
                 .map(mapper::toCustomerDTO);
     }
 
-    private void updateCustomer(CustomerDTO customerDTO, Customer saved) {
-        saved.setName(customerDTO.getName());
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#id"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
+    public Mono<CustomerDTO> updateCustomer(String id, CustomerDTO customerDTO) {
+        if (isInvalid(customerDTO))
+            return Mono.error(new ResponseStatusException(BAD_REQUEST));
+        return modify(id, customerDTO.getVersion(), Update.update("name", customerDTO.getName()));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#id"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
     public Mono<CustomerDTO> patchCustomer(String id, CustomerDTO customerDTO) {
         if (isInvalid(customerDTO))
             return Mono.error(new ResponseStatusException(BAD_REQUEST));
-        return repository
-                .findById(id)
-                .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
-                .map(saved -> {
-                    patchCustomer(customerDTO, saved);
-                    return saved;
-                })
-                .flatMap(repository::save)
+        Update update = new Update();
+        if (StringUtils.hasText(customerDTO.getName()))
+            update.set("name", customerDTO.getName());
+        return modify(id, customerDTO.getVersion(), update);
+    }
+
+    private Mono<CustomerDTO> modify(String id, Long expectedVersion, Update update) {
+        Query query = new Query(where("id").is(id));
+        if (expectedVersion != null)
+            query.addCriteria(where("version").is(expectedVersion));
+        update.inc("version", 1).set("lastModifiedDate", LocalDateTime.now());
+        return template
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Customer.class)
+                .switchIfEmpty(Mono.defer(() -> conflictOrNotFound(id, expectedVersion)))
+                .flatMap(modified -> versions.bump(Customer.class).thenReturn(modified))
                 .map(mapper::toCustomerDTO);
     }
 
-    private void patchCustomer(CustomerDTO customerDTO, Customer saved) {
-        if (StringUtils.hasText(customerDTO.getName()))
-            saved.setName(customerDTO.getName());
+    private Mono<Customer> conflictOrNotFound(String id, Long expectedVersion) {
+        if (expectedVersion == null)
+            return Mono.error(new ResponseStatusException(NOT_FOUND));
+        return template
+                .exists(new Query(where("id").is(id)), Customer.class)
+                .flatMap(exists -> Mono.error(new ResponseStatusException(exists ? CONFLICT : NOT_FOUND)));
     }
 
     @Override
-    public Mono<Void> deleteCustomer(String id) {
-        return repository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#id"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
+    public Mono<Long> deleteCustomer(String id) {
+        return deleteCustomer(id, null);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#id"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
+    public Mono<Long> deleteCustomer(String id, Long expectedVersion) {
+        Query query = new Query(where("id").is(id));
+        if (expectedVersion != null)
+            query.addCriteria(where("version").is(expectedVersion));
+        return template
+                .remove(query, Customer.class)
+                .map(DeleteResult::getDeletedCount)
+                .flatMap(deleted -> deleted == 0 ? Mono.just(deleted) : versions.bump(Customer.class).thenReturn(deleted))
+                .flatMap(deleted -> deleted == 0 && expectedVersion != null
+                        ? conflictOrNotFound(id, expectedVersion).map(ignored -> deleted)
+                        : Mono.just(deleted));
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CUSTOMERS, key = "#id"),
+            @CacheEvict(cacheNames = CUSTOMERS_BY_NAME, allEntries = true)
+    })
+    public Mono<CustomerDTO> removeCustomer(String id) {
+        return template
+                .findAndRemove(new Query(where("id").is(id)), Customer.class)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(NOT_FOUND)))
+                .flatMap(removed -> versions.bump(Customer.class).thenReturn(removed))
+                .map(mapper::toCustomerDTO);
     }
 
     @Override
+    @Cacheable(cacheNames = CUSTOMERS_BY_NAME, key = "#name")
     public Mono<CustomerDTO> findFirstByName(String name) {
         return repository
                 .findFirstByName(name)
@@ -0,0 +1,40 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.model.CursorPage;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+final class KeysetPaging {
+    private KeysetPaging() {
+    }
+
+    /**
+     * Reads the page after the cursor's id in {@code _id} order, one document
+     * more than asked for to know whether another page follows.
+     */
+    static <D, T> Mono<CursorPage<T>> page(ReactiveMongoTemplate template, Query query, String cursor, Integer size,
+                                           Set<String> fields, Class<D> documentType, Class<T> dtoType,
+                                           Function<D, T> mapper, Function<T, String> idExtractor) {
+        return Mono.defer(() -> {
+            int pageSize = CursorPage.size(size);
+            String after = CursorPage.decode(cursor);
+            if (after != null)
+                query.addCriteria(where("id").gt(after));
+            Projections.include(query, fields, dtoType)
+                    .with(Sort.by("id"))
+                    .limit(pageSize + 1);
+            return template
+                    .find(query, documentType)
+                    .map(mapper)
+                    .collectList()
+                    .map(page -> CursorPage.of(page, pageSize, idExtractor));
+        });
+    }
+}
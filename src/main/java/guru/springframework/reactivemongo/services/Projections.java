@@ -0,0 +1,36 @@
+package guru.springframework.reactivemongo.services;
+
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+final class Projections {
+    private Projections() {
+    }
+
+    /**
+     * Restricts the query to the requested DTO fields so the rest of the
+     * document is never read off the wire. An empty set keeps whole documents.
+     */
+    static Query include(Query query, Set<String> fields, Class<?> dtoType) {
+        if (fields.isEmpty())
+            return query;
+        Set<String> known = Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toSet());
+        for (String field : fields) {
+            if (!known.contains(field))
+                throw new ResponseStatusException(BAD_REQUEST, "Unknown field " + field);
+            query.fields().include(field);
+        }
+        return query;
+    }
+}
@@ -1,18 +1,32 @@
 package guru.springframework.reactivemongo.web.fn;
 
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
+import guru.springframework.reactivemongo.model.BeerStyleSummaryDTO;
+import guru.springframework.reactivemongo.model.CursorPage;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.model.InventoryFilter;
+import guru.springframework.reactivemongo.model.StyleAnalyticsDTO;
 import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.BeerStyleSummaryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH_ID;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.web.reactive.function.server.ServerResponse.*;
 import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 
@@ -20,22 +34,79 @@ import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
 @RequiredArgsConstructor
 public class BeerHandler {
     private final BeerService service;
+    private final BeerStyleSummaryService summaryService;
 
     public Mono<ServerResponse> beers(ServerRequest request) {
-        Flux<BeerDTO> flux;
+        return Mono.defer(() -> {
+            String cursor = Paging.cursor(request);
+            Integer size = Paging.size(request);
+            Set<String> fields = Fieldsets.fields(request);
+            Optional<String> style = request.queryParam("beerStyle");
 
-        if (request.queryParam("beerStyle").isPresent()) {
-            flux = service.findByStyle(request.queryParam("beerStyle").get());
-        } else {
-            flux = service.beers();
+            Mono<CursorPage<BeerDTO>> page = style.isPresent()
+                    ? service.findByStyle(style.get(), cursor, size, fields)
+                    : service.beers(cursor, size, fields);
+            Mono<Long> estimatedCount = style.isEmpty() && Paging.wantsEstimatedCount(request)
+                    ? service.estimatedCount()
+                    : Mono.empty();
+
+            return Paging.conditional(request, service.collectionVersion(), page, estimatedCount);
+        });
+    }
+
+    public Mono<ServerResponse> search(ServerRequest request) {
+        return Mono.defer(() -> {
+            Mono<CursorPage<BeerDTO>> page = service.search(request.queryParam("q").orElse(null),
+                    Paging.cursor(request), Paging.size(request), Fieldsets.fields(request));
+            return Paging.conditional(request, service.collectionVersion(), page, Mono.empty());
+        });
+    }
+
+    public Mono<ServerResponse> styleAnalytics(ServerRequest request) {
+        return Mono.defer(() -> {
+            InventoryFilter filter = InventoryFilter.builder()
+                    .minPrice(param(request, "minPrice", BigDecimal::new))
+                    .maxPrice(param(request, "maxPrice", BigDecimal::new))
+                    .minQuantity(param(request, "minQuantity", Integer::valueOf))
+                    .maxQuantity(param(request, "maxQuantity", Integer::valueOf))
+                    .build();
+            return ok().body(service.styleAnalytics(filter), StyleAnalyticsDTO.class);
+        });
+    }
+
+    public Mono<ServerResponse> styleSummary(ServerRequest request) {
+        return ok().body(summaryService.summaries(), BeerStyleSummaryDTO.class);
+    }
+
+    private static <T> T param(ServerRequest request, String name, Function<String, T> parser) {
+        try {
+            return request.queryParam(name).map(parser).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(BAD_REQUEST, name + " must be a number");
         }
+    }
+
+    public Mono<ServerResponse> streamBeers(ServerRequest request) {
+        Flux<BeerDTO> beers = request.queryParam("beerStyle")
+                .map(service::findByStyle)
+                .orElseGet(service::beers);
 
-        return ServerResponse.ok()
-                .body(flux, BeerDTO.class);
+        return ok()
+                .contentType(Streaming.contentType(request))
+                .body(beers, BeerDTO.class);
     }
 
     public Mono<ServerResponse> findById(ServerRequest request) {
-        return ok().body(service.findById(request.pathVariable("beerId")), BeerDTO.class);
+        String id = request.pathVariable("beerId");
+        Set<String> fields = Fieldsets.fields(request);
+        if (!fields.isEmpty())
+            return ok().body(service.findById(id, fields), BeerDTO.class);
+        return service.findById(id)
+                .flatMap(beer -> {
+                    String eTag = ETags.of(beer.getId(), beer.getVersion(), beer.getLastModifiedDate());
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> ok().eTag(eTag).bodyValue(beer)));
+                });
     }
 
     public Mono<ServerResponse> createBeer(ServerRequest request) {
@@ -49,26 +120,56 @@ public class BeerHandler {
                 });
     }
 
+    public Mono<ServerResponse> importBeers(ServerRequest request) {
+        return ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(service.importBeers(request.bodyToFlux(BeerDTO.class)), BeerImportResult.class);
+    }
+
+    public Mono<ServerResponse> adjustInventory(ServerRequest request) {
+        return request
+                .bodyToMono(InventoryAdjustmentDTO.class)
+                .flatMap(adjustment -> service.adjustInventory(request.pathVariable("beerId"), adjustment))
+                .flatMap(beerDTO -> ok().bodyValue(beerDTO));
+    }
+
     public Mono<ServerResponse> updateById(ServerRequest request) {
+        String id = request.pathVariable("beerId");
+        Optional<Long> expectedVersion = ETags.expectedVersion(request, id);
         return request
                 .bodyToMono(BeerDTO.class)
-                .flatMap(beerDTO ->
-                        service.updateBeer(request.pathVariable("beerId"), beerDTO))
-                .then(noContent().build());
+                .flatMap(beerDTO -> {
+                    expectedVersion.ifPresent(beerDTO::setVersion);
+                    return ETags.preconditionFailedOnConflict(service.updateBeer(id, beerDTO), expectedVersion);
+                })
+                .flatMap(this::noContentWithETag);
     }
 
     public Mono<ServerResponse> patchById(ServerRequest request) {
+        String id = request.pathVariable("beerId");
+        Optional<Long> expectedVersion = ETags.expectedVersion(request, id);
         return request
                 .bodyToMono(BeerDTO.class)
-                .flatMap(beerDTO ->
-                        service.patchBeer(request.pathVariable("beerId"), beerDTO))
-                .flatMap(beerDTO -> noContent().build());
+                .flatMap(beerDTO -> {
+                    expectedVersion.ifPresent(beerDTO::setVersion);
+                    return ETags.preconditionFailedOnConflict(service.patchBeer(id, beerDTO), expectedVersion);
+                })
+                .flatMap(this::noContentWithETag);
     }
 
     public Mono<ServerResponse> deleteById(ServerRequest request) {
+        return Deletes.delete(request, request.pathVariable("beerId"), service::removeBeer, service::deleteBeer);
+    }
+
+    private Mono<ServerResponse> noContentWithETag(BeerDTO beerDTO) {
+        return noContent()
+                .eTag(ETags.of(beerDTO.getId(), beerDTO.getVersion(), beerDTO.getLastModifiedDate()))
+                .build();
+    }
+
+    public Mono<ServerResponse> deleteByStyle(ServerRequest request) {
         return service
-                .findById(request.pathVariable("beerId"))
-                .flatMap(beerDTO -> service.deleteBeer(beerDTO.getId()))
-                .then(noContent().build());
+                .deleteByStyle(request.queryParam("beerStyle").orElseThrow())
+                .flatMap(deleted -> ok().bodyValue(Map.of("deletedCount", deleted)));
     }
 }
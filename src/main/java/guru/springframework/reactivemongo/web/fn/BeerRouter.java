@@ -3,11 +3,13 @@ package guru.springframework.reactivemongo.web.fn;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
@@ -15,18 +17,32 @@ import static org.springframework.web.reactive.function.server.RouterFunctions.r
 public class BeerRouter {
     public static final String BEER_PATH = "/api/v3/beer";
     public static final String BEER_PATH_ID = BEER_PATH + "/{beerId}";
+    public static final String BEER_BATCH_PATH = BEER_PATH + "/batch";
+    public static final String BEER_INVENTORY_PATH = BEER_PATH_ID + "/inventory";
+    public static final String BEER_SEARCH_PATH = BEER_PATH + "/search";
+    public static final String BEER_STYLE_ANALYTICS_PATH = BEER_PATH + "/analytics/styles";
+    public static final String BEER_STYLE_SUMMARY_PATH = BEER_PATH + "/analytics/summary";
 
     private final BeerHandler handler;
+    private final RouteMetrics metrics;
+    private final BodyLimits limits;
 
     @Bean
     public RouterFunction<ServerResponse> beerRouterImpl() {
         return route()
-                .GET(BEER_PATH, accept(APPLICATION_JSON), handler::beers)
-                .GET(BEER_PATH_ID, accept(APPLICATION_JSON), handler::findById)
-                .POST(BEER_PATH, accept(APPLICATION_JSON), handler::createBeer)
-                .PUT(BEER_PATH_ID, handler::updateById)
-                .PATCH(BEER_PATH_ID, handler::patchById)
-                .DELETE(BEER_PATH_ID, handler::deleteById)
+                .GET(BEER_PATH, accept(APPLICATION_JSON), metrics.timed("beer.list", handler::beers))
+                .GET(BEER_SEARCH_PATH, accept(APPLICATION_JSON), metrics.timed("beer.search", handler::search))
+                .GET(BEER_STYLE_ANALYTICS_PATH, accept(APPLICATION_JSON), metrics.timed("beer.analytics.styles", handler::styleAnalytics))
+                .GET(BEER_STYLE_SUMMARY_PATH, accept(APPLICATION_JSON), metrics.timed("beer.analytics.summary", handler::styleSummary))
+                .GET(BEER_PATH_ID, accept(APPLICATION_JSON), metrics.timed("beer.get", handler::findById))
+                .POST(BEER_PATH, accept(APPLICATION_JSON), metrics.timed("beer.create", limits.entity(handler::createBeer)))
+                .POST(BEER_BATCH_PATH, metrics.timed("beer.import", limits.batch(handler::importBeers)))
+                .POST(BEER_INVENTORY_PATH, accept(APPLICATION_JSON), metrics.timed("beer.inventory", limits.entity(handler::adjustInventory)))
+                .PUT(BEER_PATH_ID, metrics.timed("beer.update", limits.entity(handler::updateById)))
+                .PATCH(BEER_PATH_ID, metrics.timed("beer.patch", limits.entity(handler::patchById)))
+                .DELETE(BEER_PATH_ID, metrics.timed("beer.delete", handler::deleteById))
+                .DELETE(BEER_PATH, queryParam("beerStyle", StringUtils::hasText), metrics.timed("beer.deleteByStyle", handler::deleteByStyle))
+                .GET(BEER_PATH, accept(Streaming.MEDIA_TYPES), metrics.timed("beer.stream", handler::streamBeers))
                 .build();
     }
 }
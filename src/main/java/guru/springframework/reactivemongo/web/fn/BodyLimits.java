@@ -0,0 +1,60 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.config.CodecProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+
+/**
+ * Caps the request body per route with 413, up front from Content-Length or,
+ * for chunked bodies, as soon as the bytes read so far go over the limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class BodyLimits {
+
+    private final CodecProperties properties;
+
+    public HandlerFunction<ServerResponse> entity(HandlerFunction<ServerResponse> handler) {
+        return limited(properties.getMaxEntitySize(), handler);
+    }
+
+    public HandlerFunction<ServerResponse> batch(HandlerFunction<ServerResponse> handler) {
+        return limited(properties.getMaxBatchSize(), handler);
+    }
+
+    static HandlerFunction<ServerResponse> limited(DataSize limit, HandlerFunction<ServerResponse> handler) {
+        long max = limit.toBytes();
+        return request -> {
+            if (request.headers().contentLength().orElse(0) > max)
+                return Mono.error(tooLarge(limit));
+            AtomicLong read = new AtomicLong();
+            Flux<DataBuffer> body = request.exchange().getRequest().getBody()
+                    .handle((buffer, sink) -> {
+                        if (read.addAndGet(buffer.readableByteCount()) > max) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(tooLarge(limit));
+                        } else {
+                            sink.next(buffer);
+                        }
+                    });
+            return handler.handle(ServerRequest.from(request).body(body).build());
+        };
+    }
+
+    private static ResponseStatusException tooLarge(DataSize limit) {
+        return new ResponseStatusException(PAYLOAD_TOO_LARGE, "Request body over " + limit.toKilobytes() + " KB");
+    }
+}
@@ -1,6 +1,6 @@
 package guru.springframework.reactivemongo.web.fn;
 
-import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.CursorPage;
 import guru.springframework.reactivemongo.model.CustomerDTO;
 import guru.springframework.reactivemongo.services.CustomerService;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +11,8 @@ import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH_ID;
 import static org.springframework.web.reactive.function.server.ServerResponse.*;
@@ -22,11 +24,35 @@ public class CustomerHandler {
     private final CustomerService service;
 
     public Mono<ServerResponse> customers(ServerRequest request) {
-        return ok().body(service.customers(), BeerDTO.class);
+        return Mono.defer(() -> {
+            Mono<Long> estimatedCount = Paging.wantsEstimatedCount(request)
+                    ? service.estimatedCount()
+                    : Mono.empty();
+
+            Mono<CursorPage<CustomerDTO>> page =
+                    service.customers(Paging.cursor(request), Paging.size(request), Fieldsets.fields(request));
+
+            return Paging.conditional(request, service.collectionVersion(), page, estimatedCount);
+        });
+    }
+
+    public Mono<ServerResponse> streamCustomers(ServerRequest request) {
+        return ok()
+                .contentType(Streaming.contentType(request))
+                .body(service.customers(), CustomerDTO.class);
     }
 
     public Mono<ServerResponse> findById(ServerRequest request) {
-        return ok().body(service.findById(request.pathVariable("customerId")), CustomerDTO.class);
+        String id = request.pathVariable("customerId");
+        Set<String> fields = Fieldsets.fields(request);
+        if (!fields.isEmpty())
+            return ok().body(service.findById(id, fields), CustomerDTO.class);
+        return service.findById(id)
+                .flatMap(customer -> {
+                    String eTag = ETags.of(customer.getId(), customer.getVersion(), customer.getLastModifiedDate());
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> ok().eTag(eTag).bodyValue(customer)));
+                });
     }
 
     public Mono<ServerResponse> createCustomer(ServerRequest request) {
@@ -41,25 +67,36 @@ public class CustomerHandler {
     }
 
     public Mono<ServerResponse> updateById(ServerRequest request) {
+        String id = request.pathVariable("customerId");
+        Optional<Long> expectedVersion = ETags.expectedVersion(request, id);
         return request
                 .bodyToMono(CustomerDTO.class)
-                .flatMap(CustomerDTO ->
-                        service.updateCustomer(request.pathVariable("customerId"), CustomerDTO))
-                .then(noContent().build());
+                .flatMap(customerDTO -> {
+                    expectedVersion.ifPresent(customerDTO::setVersion);
+                    return ETags.preconditionFailedOnConflict(service.updateCustomer(id, customerDTO), expectedVersion);
+                })
+                .flatMap(this::noContentWithETag);
     }
 
     public Mono<ServerResponse> patchById(ServerRequest request) {
+        String id = request.pathVariable("customerId");
+        Optional<Long> expectedVersion = ETags.expectedVersion(request, id);
         return request
                 .bodyToMono(CustomerDTO.class)
-                .flatMap(CustomerDTO ->
-                        service.patchCustomer(request.pathVariable("customerId"), CustomerDTO))
-                .flatMap(CustomerDTO -> noContent().build());
+                .flatMap(customerDTO -> {
+                    expectedVersion.ifPresent(customerDTO::setVersion);
+                    return ETags.preconditionFailedOnConflict(service.patchCustomer(id, customerDTO), expectedVersion);
+                })
+                .flatMap(this::noContentWithETag);
     }
 
     public Mono<ServerResponse> deleteById(ServerRequest request) {
-        return service
-                .findById(request.pathVariable("customerId"))
-                .flatMap(CustomerDTO -> service.deleteCustomer(CustomerDTO.getId()))
-                .then(noContent().build());
+        return Deletes.delete(request, request.pathVariable("customerId"), service::removeCustomer, service::deleteCustomer);
+    }
+
+    private Mono<ServerResponse> noContentWithETag(CustomerDTO customerDTO) {
+        return noContent()
+                .eTag(ETags.of(customerDTO.getId(), customerDTO.getVersion(), customerDTO.getLastModifiedDate()))
+                .build();
     }
 }
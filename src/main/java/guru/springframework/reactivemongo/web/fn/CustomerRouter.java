@@ -17,16 +17,19 @@ public class CustomerRouter {
     public static final String CUSTOMER_PATH_ID = CUSTOMER_PATH + "/{customerId}";
 
     private final CustomerHandler handler;
+    private final RouteMetrics metrics;
+    private final BodyLimits limits;
 
     @Bean
     public RouterFunction<ServerResponse> customerRouterImpl() {
         return route()
-                .GET(CUSTOMER_PATH, accept(APPLICATION_JSON), handler::customers)
-                .GET(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), handler::findById)
-                .POST(CUSTOMER_PATH, accept(APPLICATION_JSON), handler::createCustomer)
-                .PUT(CUSTOMER_PATH_ID, handler::updateById)
-                .PATCH(CUSTOMER_PATH_ID, handler::patchById)
-                .DELETE(CUSTOMER_PATH_ID, handler::deleteById)
+                .GET(CUSTOMER_PATH, accept(APPLICATION_JSON), metrics.timed("customer.list", handler::customers))
+                .GET(CUSTOMER_PATH_ID, accept(APPLICATION_JSON), metrics.timed("customer.get", handler::findById))
+                .POST(CUSTOMER_PATH, accept(APPLICATION_JSON), metrics.timed("customer.create", limits.entity(handler::createCustomer)))
+                .PUT(CUSTOMER_PATH_ID, metrics.timed("customer.update", limits.entity(handler::updateById)))
+                .PATCH(CUSTOMER_PATH_ID, metrics.timed("customer.patch", limits.entity(handler::patchById)))
+                .DELETE(CUSTOMER_PATH_ID, metrics.timed("customer.delete", handler::deleteById))
+                .GET(CUSTOMER_PATH, accept(Streaming.MEDIA_TYPES), metrics.timed("customer.stream", handler::streamCustomers))
                 .build();
     }
 }
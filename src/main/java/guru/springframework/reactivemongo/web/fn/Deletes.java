@@ -0,0 +1,42 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+final class Deletes {
+    private Deletes() {
+    }
+
+    /**
+     * {@code Prefer: return=representation} asks for the removed document,
+     * which costs a findAndRemove instead of a plain delete.
+     */
+    static boolean wantsRepresentation(ServerRequest request) {
+        return request.headers().header("Prefer").stream()
+                .anyMatch(prefer -> prefer.contains("return=representation"));
+    }
+
+    /**
+     * With {@code If-Match} the delete is conditional and a {@code Prefer}
+     * for the removed representation is not honoured.
+     */
+    static Mono<ServerResponse> delete(ServerRequest request, String id, Function<String, Mono<?>> remove,
+                                       BiFunction<String, Long, Mono<Long>> delete) {
+        Optional<Long> expectedVersion = ETags.expectedVersion(request, id);
+        if (expectedVersion.isEmpty() && wantsRepresentation(request))
+            return remove.apply(id).flatMap(removed -> ServerResponse.ok().bodyValue(removed));
+        return ETags.preconditionFailedOnConflict(delete.apply(id, expectedVersion.orElse(null)), expectedVersion)
+                .flatMap(Deletes::noContentOrNotFound);
+    }
+
+    static Mono<ServerResponse> noContentOrNotFound(long deleted) {
+        return deleted == 0
+                ? ServerResponse.notFound().build()
+                : ServerResponse.noContent().build();
+    }
+}
@@ -0,0 +1,76 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+
+/**
+ * Strong ETags of the form {@code "id-version-lastModified"}. Carrying the
+ * version lets {@code If-Match} become the optimistic version check of the
+ * write itself, so a conditional write costs no extra read.
+ */
+final class ETags {
+    private static final long NO_MATCH = -1;
+
+    private ETags() {
+    }
+
+    static String of(String id, Long version, LocalDateTime lastModifiedDate) {
+        long lastModified = lastModifiedDate == null ? 0 : lastModifiedDate.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + id + "-" + (version == null ? 0 : version) + "-" + Long.toString(lastModified, 36) + "\"";
+    }
+
+    /**
+     * Lists are tagged with the collection version, so any write to the
+     * collection changes every list tag, and with the query string, which
+     * selects the page and its shape.
+     */
+    static String ofQuery(String collectionVersion, ServerRequest request) {
+        String query = request.uri().getRawQuery();
+        return "\"" + collectionVersion + "-" + Integer.toHexString(query == null ? 0 : query.hashCode()) + "\"";
+    }
+
+    /**
+     * Version a conditional write must find, from the first {@code If-Match}
+     * tag. Empty when there is no precondition or it is {@code *}; a weak tag or
+     * one for another resource can never match.
+     */
+    static Optional<Long> expectedVersion(ServerRequest request, String id) {
+        List<String> ifMatch = request.headers().header(HttpHeaders.IF_MATCH);
+        if (ifMatch.isEmpty())
+            return Optional.empty();
+        String tag = ifMatch.get(0).split(",")[0].trim();
+        if (tag.equals("*"))
+            return Optional.empty();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\""))
+            return Optional.of(NO_MATCH);
+        String[] parts = tag.substring(prefix.length(), tag.length() - 1).split("-");
+        try {
+            return Optional.of(Long.parseLong(parts[0]));
+        } catch (NumberFormatException e) {
+            return Optional.of(NO_MATCH);
+        }
+    }
+
+    /**
+     * A version miss on a conditional write is a failed precondition, not a
+     * conflict between two unconditional writers.
+     */
+    static <T> Mono<T> preconditionFailedOnConflict(Mono<T> write, Optional<Long> expectedVersion) {
+        if (expectedVersion.isEmpty())
+            return write;
+        return write.onErrorMap(
+                e -> e instanceof ResponseStatusException rse && rse.getStatusCode().isSameCodeAs(CONFLICT),
+                e -> new ResponseStatusException(PRECONDITION_FAILED));
+    }
+}
@@ -0,0 +1,27 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class Fieldsets {
+    private Fieldsets() {
+    }
+
+    /**
+     * Parses {@code fields=id,name,price} into the set of requested properties,
+     * empty when the client wants whole documents.
+     */
+    static Set<String> fields(ServerRequest request) {
+        return request.queryParam("fields")
+                .map(fields -> Arrays.stream(fields.split(","))
+                        .map(String::trim)
+                        .filter(StringUtils::hasText)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)))
+                .orElseGet(LinkedHashSet::new);
+    }
+}
@@ -0,0 +1,65 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import guru.springframework.reactivemongo.model.CursorPage;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+final class Paging {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String ESTIMATED_TOTAL_HEADER = "X-Estimated-Total-Count";
+
+    private Paging() {
+    }
+
+    static String cursor(ServerRequest request) {
+        return request.queryParam("cursor").orElse(null);
+    }
+
+    static Integer size(ServerRequest request) {
+        try {
+            return request.queryParam("size").map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Page size must be a number");
+        }
+    }
+
+    /**
+     * The estimate comes from collection metadata, so it is cheap but may lag
+     * behind concurrent writes; only computed when asked for with {@code count=estimated}.
+     */
+    static boolean wantsEstimatedCount(ServerRequest request) {
+        return request.queryParam("count").filter("estimated"::equals).isPresent();
+    }
+
+    /**
+     * Tags the page with the collection version and the query, and answers
+     * 304 without running the page query when the client's copy is current.
+     */
+    static Mono<ServerResponse> conditional(ServerRequest request, Mono<String> collectionVersion,
+                                            Mono<? extends CursorPage<?>> page, Mono<Long> estimatedCount) {
+        return collectionVersion
+                .map(version -> ETags.ofQuery(version, request))
+                .flatMap(eTag -> request.checkNotModified(eTag)
+                        .switchIfEmpty(Mono.defer(() -> page.flatMap(content -> ok(content, estimatedCount, eTag)))));
+    }
+
+    static Mono<ServerResponse> ok(CursorPage<?> page, Mono<Long> estimatedCount, String eTag) {
+        return estimatedCount
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(count -> ServerResponse.ok()
+                        .eTag(eTag)
+                        .headers(headers -> {
+                            if (page.getNextCursor() != null)
+                                headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+                            count.ifPresent(total -> headers.set(ESTIMATED_TOTAL_HEADER, total.toString()));
+                        })
+                        .bodyValue(page.getContent()));
+    }
+}
@@ -0,0 +1,42 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Times each handler under {@code sfg.route.requests}, tagged by route and
+ * status, with a percentile histogram so p99 can be aggregated in Prometheus.
+ * The timer stops once the handler has produced its response, streamed bodies
+ * are covered end to end by {@code http.server.requests}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetrics {
+    public static final String ROUTE_TIMER = "sfg.route.requests";
+
+    private final MeterRegistry registry;
+
+    public HandlerFunction<ServerResponse> timed(String route, HandlerFunction<ServerResponse> handler) {
+        return request -> {
+            Timer.Sample sample = Timer.start(registry);
+            return handler.handle(request)
+                    .doOnSuccess(response -> sample.stop(timer(route,
+                            response == null ? 500 : response.statusCode().value())))
+                    .doOnError(e -> sample.stop(timer(route,
+                            e instanceof ResponseStatusException rse ? rse.getStatusCode().value() : 500)));
+        };
+    }
+
+    private Timer timer(String route, int status) {
+        return Timer.builder(ROUTE_TIMER)
+                .tag("route", route)
+                .tag("status", Integer.toString(status))
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
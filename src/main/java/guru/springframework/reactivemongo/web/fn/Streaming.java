@@ -0,0 +1,26 @@
+package guru.springframework.reactivemongo.web.fn;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+
+final class Streaming {
+    static final MediaType[] MEDIA_TYPES = {APPLICATION_NDJSON, TEXT_EVENT_STREAM};
+
+    private Streaming() {
+    }
+
+    /**
+     * Picks the streaming type the client asked for first. Routes using this are
+     * only reached through an {@code accept(MEDIA_TYPES)} predicate, so one of them matches.
+     */
+    static MediaType contentType(ServerRequest request) {
+        for (MediaType mediaType : request.headers().accept())
+            for (MediaType streaming : MEDIA_TYPES)
+                if (streaming.equalsTypeAndSubtype(mediaType))
+                    return streaming;
+        return APPLICATION_NDJSON;
+    }
+}
@@ -0,0 +1,292 @@
+package guru.springframework.reactivemongo.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.reactivemongo.TestConfig;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
+import guru.springframework.reactivemongo.model.CustomerDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_BATCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_INVENTORY_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH_ID;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_SEARCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_STYLE_ANALYTICS_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_STYLE_SUMMARY_PATH;
+import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH;
+import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives every beer and customer route at a fixed arrival rate against the
+ * local Mongo from {@code stack.yml}, seeded with a configurable dataset.
+ * Latency is measured from the moment a request was due, so a backed up
+ * client does not hide queueing (coordinated omission). Percentiles and
+ * throughput per route go to {@code perf.report}. The run fails when more than
+ * {@code perf.max-error-rate} of a route's requests fail and, given
+ * {@code perf.baseline}, a report from an earlier run, when a route's p99
+ * regresses by more than {@code perf.tolerance}.
+ */
+@Slf4j
+@SpringBootTest(classes = TestConfig.class)
+@AutoConfigureWebTestClient(timeout = "30s")
+class RouteLoadTest {
+    static final int RATE = Integer.getInteger("perf.rate", 200);
+    static final Duration DURATION = Duration.parse(System.getProperty("perf.duration", "PT10S"));
+    static final int CLIENTS = Integer.getInteger("perf.clients", 64);
+    static final int BEERS = Integer.getInteger("perf.beers", 10_000);
+    static final int CUSTOMERS = Integer.getInteger("perf.customers", 1_000);
+    static final int STYLES = 50;
+    static final Path REPORT = Path.of(System.getProperty("perf.report", "target/perf/report.json"));
+    static final String BASELINE = System.getProperty("perf.baseline");
+    static final double TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+    static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("perf.max-error-rate", "0.01"));
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    CustomerService customerService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void loadEveryRoute() throws IOException {
+        long requestsPerRoute = RATE * DURATION.toSeconds();
+        List<String> beerIds = seedBeers(BEERS);
+        List<String> deletableBeerIds = seedBeers((int) requestsPerRoute);
+        List<String> customerIds = seedCustomers(CUSTOMERS);
+        List<String> deletableCustomerIds = seedCustomers((int) requestsPerRoute);
+
+        Map<String, RouteResult> results = new LinkedHashMap<>();
+        scenarios(beerIds, deletableBeerIds, customerIds, deletableCustomerIds)
+                .forEach((name, request) -> {
+                    RouteResult result = drive(request, requestsPerRoute);
+                    log.info("{}: {}", name, result);
+                    results.put(name, result);
+                });
+
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), results);
+        log.info("Load test report written to {}", REPORT.toAbsolutePath());
+
+        assertThat(errorRatesOverCeiling(results)).isEmpty();
+        assertThat(regressions(results)).isEmpty();
+    }
+
+    List<String> errorRatesOverCeiling(Map<String, RouteResult> results) {
+        List<String> failing = new ArrayList<>();
+        results.forEach((name, result) -> {
+            double errorRate = (double) result.errors() / Math.max(result.requests(), 1);
+            if (errorRate > MAX_ERROR_RATE)
+                failing.add(name + " " + result.errors() + " of " + result.requests() + " requests failed");
+        });
+        return failing;
+    }
+
+    Map<String, Function<Long, WebTestClient.RequestHeadersSpec<?>>> scenarios(
+            List<String> beerIds, List<String> deletableBeerIds,
+            List<String> customerIds, List<String> deletableCustomerIds) {
+        Map<String, Function<Long, WebTestClient.RequestHeadersSpec<?>>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET beers", i -> webTestClient.get()
+                .uri(BEER_PATH + "?size=25"));
+        scenarios.put("GET beers by style", i -> webTestClient.get()
+                .uri(BEER_PATH + "?beerStyle={style}", style(i)));
+        scenarios.put("GET beers stream", i -> webTestClient.get()
+                .uri(BEER_PATH + "?beerStyle={style}", style(i))
+                .accept(MediaType.APPLICATION_NDJSON));
+        scenarios.put("GET beers search", i -> webTestClient.get()
+                .uri(BEER_SEARCH_PATH + "?q={q}&size=25", style(i)));
+        scenarios.put("GET style analytics", i -> webTestClient.get()
+                .uri(BEER_STYLE_ANALYTICS_PATH + "?minQuantity=1"));
+        scenarios.put("GET style summary", i -> webTestClient.get()
+                .uri(BEER_STYLE_SUMMARY_PATH));
+        scenarios.put("GET beer", i -> webTestClient.get()
+                .uri(BEER_PATH_ID, pick(beerIds, i)));
+        scenarios.put("GET beer fields", i -> webTestClient.get()
+                .uri(BEER_PATH_ID + "?fields=id,name,price", pick(beerIds, i)));
+        scenarios.put("POST beer", i -> webTestClient.post()
+                .uri(BEER_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beer(i)));
+        scenarios.put("POST beers batch", i -> webTestClient.post()
+                .uri(BEER_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.range(0, 100).map(n -> beer(i * 100 + n)), BeerDTO.class));
+        scenarios.put("PUT beer", i -> webTestClient.put()
+                .uri(BEER_PATH_ID, pick(beerIds, i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(beer(i)));
+        scenarios.put("PATCH beer", i -> webTestClient.patch()
+                .uri(BEER_PATH_ID, pick(beerIds, i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BeerDTO.builder()
+                        .name("Perf Beer " + i)
+                        .price(BigDecimal.valueOf(999 + i % 1000, 2))
+                        .build()));
+        scenarios.put("POST beer inventory", i -> webTestClient.post()
+                .uri(BEER_INVENTORY_PATH, pick(beerIds, i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(InventoryAdjustmentDTO.builder().delta(1).build()));
+        scenarios.put("DELETE beer", i -> webTestClient.delete()
+                .uri(BEER_PATH_ID, pick(deletableBeerIds, i)));
+        scenarios.put("DELETE beers by style", i -> webTestClient.delete()
+                .uri(BEER_PATH + "?beerStyle={style}", "PERF_DISCONTINUED_" + i));
+
+        scenarios.put("GET customers", i -> webTestClient.get()
+                .uri(CUSTOMER_PATH + "?size=25"));
+        scenarios.put("GET customers stream", i -> webTestClient.get()
+                .uri(CUSTOMER_PATH)
+                .accept(MediaType.APPLICATION_NDJSON));
+        scenarios.put("GET customer", i -> webTestClient.get()
+                .uri(CUSTOMER_PATH_ID, pick(customerIds, i)));
+        scenarios.put("POST customer", i -> webTestClient.post()
+                .uri(CUSTOMER_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customer(i)));
+        scenarios.put("PUT customer", i -> webTestClient.put()
+                .uri(CUSTOMER_PATH_ID, pick(customerIds, i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customer(i)));
+        scenarios.put("PATCH customer", i -> webTestClient.patch()
+                .uri(CUSTOMER_PATH_ID, pick(customerIds, i))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customer(i)));
+        scenarios.put("DELETE customer", i -> webTestClient.delete()
+                .uri(CUSTOMER_PATH_ID, pick(deletableCustomerIds, i)));
+        return scenarios;
+    }
+
+    RouteResult drive(Function<Long, WebTestClient.RequestHeadersSpec<?>> request, long requests) {
+        Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+        AtomicLong errors = new AtomicLong();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long started = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(intervalNanos))
+                .take(requests)
+                .onBackpressureBuffer()
+                .flatMap(i -> Mono.fromRunnable(() -> {
+                    long due = started + (i + 1) * intervalNanos;
+                    try {
+                        EntityExchangeResult<byte[]> result = request.apply(i)
+                                .exchange()
+                                .expectBody()
+                                .returnResult();
+                        if (!result.getStatus().is2xxSuccessful())
+                            errors.incrementAndGet();
+                    } catch (RuntimeException | AssertionError e) {
+                        errors.incrementAndGet();
+                    }
+                    histogram.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due)));
+                }).subscribeOn(Schedulers.boundedElastic()), CLIENTS)
+                .blockLast();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return new RouteResult(
+                histogram.getTotalCount(),
+                errors.get(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    List<String> regressions(Map<String, RouteResult> results) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (BASELINE == null)
+            return regressions;
+        Map<String, RouteResult> baseline = objectMapper.readValue(Path.of(BASELINE).toFile(),
+                new TypeReference<Map<String, RouteResult>>() {
+                });
+        results.forEach((name, result) -> {
+            RouteResult expected = baseline.get(name);
+            if (expected != null && result.p99Millis() > expected.p99Millis() * (1 + TOLERANCE))
+                regressions.add(name + " p99 " + result.p99Millis() + " ms, baseline " + expected.p99Millis() + " ms");
+        });
+        return regressions;
+    }
+
+    List<String> seedBeers(int count) {
+        return beerService
+                .importBeers(Flux.range(0, count).map(i -> beer((long) i)))
+                .map(BeerImportResult::getId)
+                .collectList()
+                .block();
+    }
+
+    List<String> seedCustomers(int count) {
+        return Flux.range(0, count)
+                .flatMap(i -> customerService.saveCustomer(customer(i)), 16)
+                .map(CustomerDTO::getId)
+                .collectList()
+                .block();
+    }
+
+    static BeerDTO beer(long i) {
+        return BeerDTO.builder()
+                .name("Perf Beer " + i)
+                .style(style(i))
+                .upc(Long.toString(100_000_000L + i))
+                .price(BigDecimal.valueOf(500 + i % 2000, 2))
+                .quantityOnHand((int) (i % 500))
+                .build();
+    }
+
+    static CustomerDTO customer(long i) {
+        return CustomerDTO.builder()
+                .name("Perf Customer " + i)
+                .build();
+    }
+
+    static String style(long i) {
+        return "PERF_" + i % STYLES;
+    }
+
+    static String pick(List<String> ids, long i) {
+        return ids.get((int) (i % ids.size()));
+    }
+
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    record RouteResult(long requests, long errors, double throughput,
+                       double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Time to first successful request for the plain jar against the AOT + CDS
+# launch built by `./mvnw -Pcds package`. Each launch is polled on the
+# readiness probe, which only answers 200 once startup, seeding and warm-up
+# are done, i.e. when a load balancer would start routing to the instance.
+#
+#   src/perf/startup-benchmark.sh [runs]
+#
+# Needs Mongo up (stack.yml). Extra application arguments go in APP_ARGS,
+# e.g. APP_ARGS="--sfg.seed.beers=0 --sfg.warm-up.route-iterations=1".
+# Pass --spring.profiles.active=perf to reseed on every launch, otherwise
+# only the first launch against an empty database pays for seeding.
+# AOT fixes @ConditionalOnProperty beans at build time, so arguments that
+# switch beans on or off only take effect in the plain launch.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8083}
+URL="http://localhost:${PORT}/actuator/health/readiness"
+TARGET=$(cd "$(dirname "$0")/../.." && pwd)/target
+JAR=$(find "$TARGET" -maxdepth 1 -name '*.jar' ! -name '*-plain.jar' | head -n 1)
+CDS_DIR="$TARGET/cds"
+CDS_JAR="$CDS_DIR/$(basename "$JAR")"
+ARCHIVE="$CDS_DIR/application.jsa"
+read -r -a APP_ARGS <<< "${APP_ARGS:-}"
+
+if [[ ! -f "$JAR" || ! -f "$CDS_JAR" || ! -f "$ARCHIVE" ]]; then
+    echo "Build first: ./mvnw -Pcds package" >&2
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Prints the milliseconds from launch until the readiness probe answers 200.
+launch() {
+    local started pid elapsed
+    started=$(now_ms)
+    java "$@" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited before it was ready" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - started ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+benchmark() {
+    local name=$1 times=()
+    shift
+    for ((run = 1; run <= RUNS; run++)); do
+        times+=("$(launch "$@")")
+    done
+    printf '%-10s median %6s ms   runs: %s\n' "$name" "$(printf '%s\n' "${times[@]}" | median)" "${times[*]}"
+}
+
+benchmark plain -jar "$JAR"
+benchmark aot+cds -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true -jar "$CDS_JAR"
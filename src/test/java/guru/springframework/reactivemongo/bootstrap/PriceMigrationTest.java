@@ -0,0 +1,68 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@SpringBootTest
+class PriceMigrationTest {
+
+    @Autowired
+    PriceMigration migration;
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    String collection;
+
+    @BeforeEach
+    void setUp() {
+        collection = template.getCollectionName(Beer.class);
+        template.remove(new Query(where("_id").is(PriceMigration.ID)), PriceMigration.COLLECTION).block();
+    }
+
+    @Test
+    void convertsStringPricesOnce() {
+        ObjectId parsable = save("12.99");
+        ObjectId unparsable = save("twelve");
+
+        migration.migrate().block();
+
+        assertThat(price(parsable)).isEqualTo(new Decimal128(new BigDecimal("12.99")));
+        assertThat(price(unparsable)).isEqualTo("twelve");
+        assertThat(template.findById(parsable.toHexString(), Beer.class).block().getPrice())
+                .isEqualByComparingTo("12.99");
+
+        ObjectId later = save("3.50");
+        migration.migrate().block();
+
+        assertThat(price(later)).isEqualTo("3.50");
+        template.remove(new Query(where("_id").in(parsable, unparsable, later)), collection).block();
+    }
+
+    ObjectId save(String price) {
+        ObjectId id = new ObjectId();
+        template.insert(new Document("_id", id)
+                .append("name", "Migrated")
+                .append("style", "PRICE_MIGRATION")
+                .append("quantityOnHand", 1)
+                .append("price", price), collection).block();
+        return id;
+    }
+
+    Object price(ObjectId id) {
+        return template.findById(id, Document.class, collection).block().get("price");
+    }
+}
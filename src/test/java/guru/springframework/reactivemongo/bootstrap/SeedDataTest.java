@@ -0,0 +1,44 @@
+package guru.springframework.reactivemongo.bootstrap;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeedDataTest {
+
+    @Test
+    void sameSeedAndIndexGiveTheSameDocument() {
+        assertThat(SeedData.beer(42, 1234)).isEqualTo(SeedData.beer(42, 1234));
+        assertThat(SeedData.customer(42, 1234)).isEqualTo(SeedData.customer(42, 1234));
+        assertThat(SeedData.beer(7, 1234)).isNotEqualTo(SeedData.beer(42, 1234));
+    }
+
+    @Test
+    void idsAreValidAndUnique() {
+        Set<String> ids = new HashSet<>();
+        LongStream.of(0, 1, 255, 256, 1L << 32, (1L << 40) + 1, 99_999_999)
+                .forEach(index -> {
+                    ids.add(SeedData.beer(42, index).getId());
+                    ids.add(SeedData.customer(42, index).getId());
+                });
+
+        assertThat(ids).hasSize(14).allMatch(ObjectId::isValid);
+    }
+
+    @Test
+    void beersLookRealistic() {
+        Beer beer = SeedData.beer(42, 0);
+
+        assertThat(beer.getName()).hasSizeBetween(3, 255);
+        assertThat(beer.getUpc()).hasSize(12);
+        assertThat(beer.getPrice().scale()).isEqualTo(2);
+        assertThat(beer.getQuantityOnHand()).isBetween(0, 500);
+        assertThat(beer.getCreatedDate()).isEqualTo(beer.getLastModifiedDate());
+    }
+}
@@ -0,0 +1,149 @@
+package guru.springframework.reactivemongo.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the decoder against a stand-in issuer on a local {@link HttpServer}
+ * serving the discovery document and the JWK set.
+ */
+@Slf4j
+class CachingReactiveJwtDecoderTest {
+    static final int TOKENS = 10;
+    static final int CALLS_PER_TOKEN = 100;
+
+    HttpServer issuerServer;
+    String issuer;
+    RSAKey signingKey;
+    AtomicInteger jwkSetFetches = new AtomicInteger();
+    AtomicInteger verifications = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException, JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("stand-in").generate();
+        issuerServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        issuer = "http://127.0.0.1:" + issuerServer.getAddress().getPort();
+        issuerServer.createContext("/.well-known/openid-configuration", exchange ->
+                respond(exchange, "{\"issuer\":\"" + issuer + "\",\"jwks_uri\":\"" + issuer + "/jwks\"}"));
+        issuerServer.createContext("/jwks", exchange -> {
+            jwkSetFetches.incrementAndGet();
+            respond(exchange, new JWKSet(signingKey.toPublicJWK()).toString());
+        });
+        issuerServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        issuerServer.stop(0);
+    }
+
+    @Test
+    void testRepeatedTokensVerifiedOnce() {
+        ReactiveJwtDecoder decoder = decoder(issuer, new JwtCacheProperties());
+        List<String> tokens = IntStream.range(0, TOKENS)
+                .mapToObj(i -> token("user-" + i, signingKey))
+                .toList();
+
+        StepVerifier.create(Flux.range(0, TOKENS * CALLS_PER_TOKEN)
+                        .concatMap(i -> decoder.decode(tokens.get(i % TOKENS))))
+                .expectNextCount(TOKENS * CALLS_PER_TOKEN)
+                .verifyComplete();
+
+        int calls = TOKENS * CALLS_PER_TOKEN;
+        log.info("{} decodes, {} signature verifications, {} saved, {} JWK set fetches",
+                calls, verifications.get(), calls - verifications.get(), jwkSetFetches.get());
+        assertThat(verifications).hasValue(TOKENS);
+        assertThat(jwkSetFetches).hasValue(1);
+    }
+
+    @Test
+    void testFallbackKeysWhenIssuerUnreachable() {
+        issuerServer.stop(0);
+        JwtCacheProperties properties = new JwtCacheProperties();
+        properties.setJwkSetFallback(new ByteArrayResource(
+                new JWKSet(signingKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8)));
+
+        StepVerifier.create(decoder(issuer, properties).decode(token("user", signingKey)))
+                .expectNextMatches(jwt -> jwt.getSubject().equals("user"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testBadSignatureNotCached() throws JOSEException {
+        RSAKey impostor = new RSAKeyGenerator(2048).keyID(signingKey.getKeyID()).generate();
+        ReactiveJwtDecoder decoder = decoder(issuer, new JwtCacheProperties());
+        String forged = token("user", impostor);
+
+        StepVerifier.create(decoder.decode(forged)).verifyError();
+        StepVerifier.create(decoder.decode(forged)).verifyError();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    ReactiveJwtDecoder decoder(String issuerUri, JwtCacheProperties properties) {
+        JwkSetCache jwkSetCache = new JwkSetCache(WebClient.create(), issuerUri, null, properties);
+        ReactiveJwtDecoder verifying = JwtConfig.verifyingDecoder(jwkSetCache, issuerUri);
+        return new CachingReactiveJwtDecoder(token -> {
+            verifications.incrementAndGet();
+            return verifying.decode(token);
+        }, properties.getCacheMaximumSize());
+    }
+
+    String token(String subject, RSAKey key) {
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(issuer)
+                        .subject(subject)
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(now.plus(5, ChronoUnit.MINUTES)))
+                        .build());
+        try {
+            jwt.sign(new RSASSASigner(key));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+
+    static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
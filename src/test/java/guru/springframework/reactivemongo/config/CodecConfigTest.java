@@ -0,0 +1,58 @@
+package guru.springframework.reactivemongo.config;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodecConfigTest {
+    static final String BLACKBIRD = "com.fasterxml.jackson.module.blackbird";
+
+    CodecConfig config = new CodecConfig();
+    ObjectMapper objectMapper = new ObjectMapper()
+            .registerModules(new JavaTimeModule(), config.blackbirdModule(), config.decimalModule());
+
+    @Test
+    void generatesSerializersOnly() throws Exception {
+        JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance()
+                .findValueSerializer(BeerDTO.class);
+        List<PropertyWriter> writers = new ArrayList<>();
+        ((BeanSerializer) serializer).properties().forEachRemaining(writers::add);
+
+        assertThat(writers).anyMatch(writer -> writer.getClass().getPackageName().startsWith(BLACKBIRD));
+        assertThat(((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+                .createInstance(objectMapper.getDeserializationConfig(), null, null)
+                .findRootValueDeserializer(objectMapper.constructType(BeerDTO.class))
+                .getClass().getPackageName())
+                .doesNotStartWith(BLACKBIRD);
+    }
+
+    @Test
+    void roundTripsBeer() throws Exception {
+        BeerDTO beer = BeerDTO.builder()
+                .id("abc")
+                .name("Galaxy Cat")
+                .style("IPA")
+                .upc("12356")
+                .quantityOnHand(12)
+                .price(new BigDecimal("12.99"))
+                .version(3L)
+                .createdDate(LocalDateTime.of(2024, 5, 1, 12, 0))
+                .build();
+
+        String json = objectMapper.writeValueAsString(beer);
+
+        assertThat(objectMapper.readValue(json, BeerDTO.class)).isEqualTo(beer);
+    }
+}
@@ -0,0 +1,33 @@
+package guru.springframework.reactivemongo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecimalSerializerTest {
+
+    ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new SimpleModule().addSerializer(BigDecimal.class, new DecimalSerializer()));
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "10", "12.99", "0.05", "-0.05", "-12.50", "0.00",
+            "999999999999999999", "0.000000000000000001", "1E+3", "12345678901234567890.12", "1E-30"})
+    void writesTheSameValueAsJackson(String text) throws Exception {
+        BigDecimal value = new BigDecimal(text);
+
+        String json = objectMapper.writeValueAsString(value);
+
+        assertThat(new BigDecimal(json)).isEqualTo(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"12.99", "0.05", "-3.10", "1299"})
+    void writesPricesInPlainNotation(String price) throws Exception {
+        assertThat(objectMapper.writeValueAsString(new BigDecimal(price))).isEqualTo(price);
+    }
+}
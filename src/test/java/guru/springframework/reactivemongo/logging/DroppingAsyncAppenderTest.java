@@ -0,0 +1,123 @@
+package guru.springframework.reactivemongo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroppingAsyncAppenderTest {
+    static final int QUEUE_SIZE = 64;
+    static final int EVENTS = 10_000;
+    static final int REQUESTS = 1_000;
+
+    LoggerContext context;
+    CountDownLatch release;
+    DroppingAsyncAppender appender;
+    Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        release = new CountDownLatch(1);
+
+        AppenderBase<ILoggingEvent> blockedSink = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blockedSink.setContext(context);
+        blockedSink.start();
+
+        appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setName("async");
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setDiscardingThreshold(QUEUE_SIZE / 4);
+        appender.addAppender(blockedSink);
+        appender.start();
+
+        logger = context.getLogger("request");
+        logger.setLevel(Level.TRACE);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        appender.stop();
+        context.stop();
+    }
+
+    @Test
+    void testBlockedSinkDoesNotStallLoggingThread() {
+        long slowest = 0;
+        long started = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            long start = System.nanoTime();
+            if (i % 2 == 0)
+                logger.debug("event {}", i);
+            else
+                logger.info("event {}", i);
+            slowest = Math.max(slowest, System.nanoTime() - start);
+        }
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        assertThat(Duration.ofNanos(slowest)).isLessThan(Duration.ofMillis(100));
+        assertThat(appender.getDiscardedCount()).isPositive();
+        assertThat(appender.getOverflowedCount()).isPositive();
+        // the worker drains one queue's worth before it blocks, a second fills the queue
+        assertThat(appender.getDiscardedCount() + appender.getOverflowedCount())
+                .isGreaterThanOrEqualTo(EVENTS - 2 * QUEUE_SIZE);
+    }
+
+    @Test
+    void testBlockedSinkDoesNotStallRequests() {
+        WebTestClient client = WebTestClient.bindToRouterFunction(RouterFunctions.route()
+                .GET("/beer/{id}", request -> {
+                    String id = request.pathVariable("id");
+                    logger.debug("Fetching beer {}", id);
+                    logger.info("Found beer {}", id);
+                    logger.warn("Beer {} is low on stock", id);
+                    return ServerResponse.ok().bodyValue(Map.of("id", id));
+                })
+                .build()).build();
+        // fills the queue, every measured request logs against a full queue and a blocked sink
+        for (int i = 0; i < QUEUE_SIZE; i++)
+            client.get().uri("/beer/{id}", i).exchange().expectStatus().isOk();
+
+        long[] latencies = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            client.get().uri("/beer/{id}", i).exchange().expectStatus().isOk();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        assertThat(Duration.ofNanos(latencies[REQUESTS * 99 / 100])).isLessThan(Duration.ofMillis(50));
+        assertThat(Duration.ofNanos(latencies[REQUESTS - 1])).isLessThan(Duration.ofMillis(500));
+        assertThat(appender.getDiscardedCount()).isPositive();
+        assertThat(appender.getOverflowedCount()).isPositive();
+    }
+}
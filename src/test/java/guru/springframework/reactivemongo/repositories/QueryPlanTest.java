@@ -0,0 +1,215 @@
+package guru.springframework.reactivemongo.repositories;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import guru.springframework.reactivemongo.config.MongoIndexInitializer;
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.domain.Customer;
+import guru.springframework.reactivemongo.model.CursorPage;
+import guru.springframework.reactivemongo.services.BeerService;
+import guru.springframework.reactivemongo.services.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static guru.springframework.reactivemongo.TestUtils.createTestBeer;
+import static guru.springframework.reactivemongo.TestUtils.createTestCustomer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls every repository finder, and the service queries built by hand, with a
+ * listener capturing the {@code find} commands they send, then runs
+ * {@code explain} on exactly those commands. Fails when a winning plan scans
+ * the whole collection or reads far more documents than it returns. A finder
+ * without an entry below fails {@link #everyFinderHasAPlan()}.
+ */
+@Slf4j
+@SpringBootTest
+class QueryPlanTest {
+    static final double MAX_EXAMINED_PER_RETURNED = 2.0;
+    static final Set<String> FULL_SCANS_BY_DESIGN = Set.of("streamAllBy");
+    static final Set<String> EXPLAINABLE_FIELDS = Set.of("find", "filter", "sort", "projection", "hint", "skip",
+            "limit", "singleBatch", "collation");
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    MongoIndexInitializer indexInitializer;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @Autowired
+    BeerService beerService;
+
+    @Autowired
+    CustomerService customerService;
+
+    @Autowired
+    FindCommands findCommands;
+
+    Beer beer;
+    Customer customer;
+
+    /**
+     * A text search sorted by score reads every match before it applies the
+     * limit, so it searches a word only this run's fixture contains.
+     */
+    String searchToken;
+
+    @BeforeEach
+    void setUp() {
+        indexInitializer.ensureIndexes().block();
+        searchToken = "qp" + new ObjectId().toHexString();
+        Beer fixture = createTestBeer();
+        fixture.setName(fixture.getName() + " " + searchToken);
+        beer = template.save(fixture).block();
+        customer = template.save(createTestCustomer()).block();
+    }
+
+    Map<String, Supplier<Publisher<?>>> beerQueries() {
+        String cursor = CursorPage.encode(beer.getId());
+        Map<String, Supplier<Publisher<?>>> queries = new LinkedHashMap<>();
+        queries.put("findFirstByName", () -> beerRepository.findFirstByName(beer.getName()));
+        queries.put("findByStyle", () -> beerRepository.findByStyle(beer.getStyle()));
+        queries.put("keyset page", () -> beerService.beers(cursor, null, Set.of()));
+        queries.put("style keyset page", () -> beerService.findByStyle(beer.getStyle(), cursor, null, Set.of()));
+        queries.put("text search", () -> beerService.search(searchToken, null, null, Set.of()));
+        return queries;
+    }
+
+    Map<String, Supplier<Publisher<?>>> customerQueries() {
+        String cursor = CursorPage.encode(customer.getId());
+        Map<String, Supplier<Publisher<?>>> queries = new LinkedHashMap<>();
+        queries.put("findFirstByName", () -> customerRepository.findFirstByName(customer.getName()));
+        queries.put("keyset page", () -> customerService.customers(cursor, null, Set.of()));
+        return queries;
+    }
+
+    @Test
+    void everyFinderHasAPlan() {
+        assertThat(finders(BeerRepository.class)).isSubsetOf(beerQueries().keySet());
+        assertThat(finders(CustomerRepository.class)).isSubsetOf(customerQueries().keySet());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> plansUseIndexes() {
+        List<DynamicTest> tests = new ArrayList<>();
+        beerQueries().forEach((name, query) -> tests.add(DynamicTest.dynamicTest("beer " + name,
+                () -> assertIndexed(template.getCollectionName(Beer.class), query))));
+        customerQueries().forEach((name, query) -> tests.add(DynamicTest.dynamicTest("customer " + name,
+                () -> assertIndexed(template.getCollectionName(Customer.class), query))));
+        return tests.stream();
+    }
+
+    void assertIndexed(String collection, Supplier<Publisher<?>> query) {
+        findCommands.clear();
+        Flux.from(query.get()).blockLast();
+        List<Document> commands = findCommands.sentTo(collection);
+        assertThat(commands).as("find commands sent to %s", collection).isNotEmpty();
+        commands.forEach(command -> assertIndexed(collection, command));
+    }
+
+    void assertIndexed(String collection, Document find) {
+        Document explain = template
+                .executeCommand(new Document("explain", find).append("verbosity", "executionStats"))
+                .block();
+        assertThat(explain).isNotNull();
+
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        Document stats = explain.get("executionStats", Document.class);
+        long examined = stats.get("totalDocsExamined", Number.class).longValue();
+        long returned = stats.get("nReturned", Number.class).longValue();
+        log.info("{} {}: {} examined, {} returned, plan {}", collection, find.toJson(), examined, returned,
+                winningPlan.toJson());
+
+        assertThat(stages(winningPlan)).doesNotContain("COLLSCAN");
+        assertThat((double) examined / Math.max(returned, 1)).isLessThanOrEqualTo(MAX_EXAMINED_PER_RETURNED);
+    }
+
+    static Set<String> finders(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .map(Method::getName)
+                .filter(name -> !FULL_SCANS_BY_DESIGN.contains(name))
+                .collect(Collectors.toSet());
+    }
+
+    static List<String> stages(Document plan) {
+        List<String> stages = new ArrayList<>();
+        stages.add(plan.getString("stage"));
+        Object inputStage = plan.get("inputStage");
+        if (inputStage instanceof Document input)
+            stages.addAll(stages(input));
+        Object inputStages = plan.get("inputStages");
+        if (inputStages instanceof List<?> inputs)
+            for (Object input : inputs)
+                stages.addAll(stages((Document) input));
+        return stages;
+    }
+
+    @TestConfiguration
+    static class FindCommandsConfig {
+        @Bean
+        FindCommands findCommands() {
+            return new FindCommands();
+        }
+    }
+
+    /**
+     * Keeps the query part of every {@code find} the client sends, without the
+     * session, cluster time and cursor fields that {@code explain} rejects.
+     */
+    static class FindCommands implements CommandListener {
+        private final ConcurrentLinkedQueue<Document> commands = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (!event.getCommandName().equals("find"))
+                return;
+            BsonDocument find = new BsonDocument();
+            event.getCommand().forEach((key, value) -> {
+                if (EXPLAINABLE_FIELDS.contains(key))
+                    find.put(key, value);
+            });
+            commands.add(Document.parse(find.toJson()));
+        }
+
+        void clear() {
+            commands.clear();
+        }
+
+        List<Document> sentTo(String collection) {
+            return commands.stream()
+                    .filter(command -> collection.equals(command.getString("find")))
+                    .toList();
+        }
+    }
+}
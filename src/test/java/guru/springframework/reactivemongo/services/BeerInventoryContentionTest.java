@@ -0,0 +1,75 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static guru.springframework.reactivemongo.TestUtils.createTestBeer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers one hot beer with concurrent decrements: every one of them has to
+ * land, and the stock guard has to stop exactly at zero.
+ */
+@Slf4j
+@SpringBootTest
+class BeerInventoryContentionTest {
+    static final int DECREMENTS = 500;
+
+    @Autowired
+    BeerService service;
+
+    @Autowired
+    BeerMapper mapper;
+
+    @Test
+    @DisplayName("Concurrent decrements are never lost")
+    void testConcurrentDecrements() {
+        BeerDTO beer = saveBeerWithStock(DECREMENTS * 2);
+        InventoryAdjustmentDTO sale = InventoryAdjustmentDTO.builder().delta(-1).build();
+
+        long started = System.nanoTime();
+        Long applied = Flux.range(0, DECREMENTS)
+                .flatMap(i -> service.adjustInventory(beer.getId(), sale), DECREMENTS)
+                .count()
+                .block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        log.info("{} concurrent decrements in {} ms, {} ops/s", DECREMENTS, elapsed.toMillis(),
+                DECREMENTS * 1_000_000_000L / Math.max(elapsed.toNanos(), 1));
+
+        assertThat(applied).isEqualTo(DECREMENTS);
+        assertThat(service.findById(beer.getId()).block().getQuantityOnHand()).isEqualTo(DECREMENTS);
+    }
+
+    @Test
+    @DisplayName("Stock guard rejects decrements below zero")
+    void testGuardStopsAtZero() {
+        BeerDTO beer = saveBeerWithStock(DECREMENTS / 2);
+        InventoryAdjustmentDTO sale = InventoryAdjustmentDTO.builder().delta(-1).build();
+
+        Long applied = Flux.range(0, DECREMENTS)
+                .flatMap(i -> service.adjustInventory(beer.getId(), sale)
+                        .onErrorResume(ResponseStatusException.class, e -> Mono.empty()), DECREMENTS)
+                .count()
+                .block();
+
+        assertThat(applied).isEqualTo(DECREMENTS / 2);
+        assertThat(service.findById(beer.getId()).block().getQuantityOnHand()).isZero();
+    }
+
+    private BeerDTO saveBeerWithStock(int quantityOnHand) {
+        BeerDTO beer = mapper.toBeerDto(createTestBeer());
+        beer.setQuantityOnHand(quantityOnHand);
+        return service.saveBeer(beer).block();
+    }
+}
@@ -4,15 +4,22 @@ import guru.springframework.reactivemongo.TestUtils;
 import guru.springframework.reactivemongo.domain.Beer;
 import guru.springframework.reactivemongo.mappers.BeerMapper;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
+import guru.springframework.reactivemongo.model.BeerStyleSummaryDTO;
+import guru.springframework.reactivemongo.model.InventoryAdjustmentDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -31,6 +38,9 @@ class BeerServiceImplTest {
     @Autowired
     BeerMapper mapper;
 
+    @Autowired
+    BeerStyleSummaryService summaryService;
+
     BeerDTO beerDTO;
 
     @BeforeEach
@@ -107,6 +117,61 @@ class BeerServiceImplTest {
         assertThat(atomicReference.get().getName()).isEqualTo(newName);
     }
 
+    @Test
+    @DisplayName("Test patch evicts cached beer")
+    void testPatchEvictsCachedBeer() {
+        BeerDTO saved = saveAndGetBeer();
+        service.findById(saved.getId()).block();
+
+        service.patchBeer(saved.getId(), BeerDTO.builder().name("Patched Name").build()).block();
+
+        BeerDTO fetched = service.findById(saved.getId()).block();
+        assertThat(fetched).isNotNull();
+        assertThat(fetched.getName()).isEqualTo("Patched Name");
+    }
+
+    @Test
+    @DisplayName("Test update with stale version is a conflict")
+    void testUpdateStaleVersionConflict() {
+        BeerDTO saved = saveAndGetBeer();
+
+        BeerDTO updated = service.updateBeer(saved.getId(), saved).block();
+        assertThat(updated).isNotNull();
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+
+        ResponseStatusException conflict = assertThrows(ResponseStatusException.class,
+                () -> service.patchBeer(saved.getId(), saved).block());
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("Test inventory delta of Integer.MIN_VALUE is rejected")
+    void testAdjustInventoryMinValueDelta() {
+        BeerDTO saved = saveAndGetBeer();
+        InventoryAdjustmentDTO adjustment = InventoryAdjustmentDTO.builder().delta(Integer.MIN_VALUE).build();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> service.adjustInventory(saved.getId(), adjustment).block());
+
+        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(service.findById(saved.getId()).block().getQuantityOnHand()).isEqualTo(saved.getQuantityOnHand());
+    }
+
+    @Test
+    @DisplayName("Test an import whose inserts all fail leaves the list version alone")
+    void testImportAllFailedKeepsVersion() {
+        BeerDTO saved = saveAndGetBeer();
+        String version = service.collectionVersion().block();
+
+        BeerDTO duplicate = mapper.toBeerDto(createTestBeer());
+        duplicate.setId(saved.getId());
+        BeerImportResult result = service.importBeers(Flux.just(duplicate)).blockLast();
+
+        assertThat(result.getId()).isNull();
+        assertThat(result.getErrors()).isNotEmpty();
+        assertThat(service.collectionVersion().block()).isEqualTo(version);
+    }
+
     @Test
     @DisplayName("Test find after delete throws 404")
     void testDelete() {
@@ -117,6 +182,44 @@ class BeerServiceImplTest {
         assertThrows(ResponseStatusException.class, () -> service.findById(beerToDelete.getId()).block());
     }
 
+    @Test
+    @DisplayName("Test style summary follows writes and survives reconciliation")
+    void testStyleSummaryIncrements() {
+        String style = "Summary " + UUID.randomUUID();
+        beerDTO.setStyle(style);
+        BeerDTO first = service.saveBeer(beerDTO).block();
+        BeerDTO secondDTO = mapper.toBeerDto(createTestBeer());
+        secondDTO.setStyle(style);
+        BeerDTO second = service.saveBeer(secondDTO).block();
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+
+        service.patchBeer(first.getId(), BeerDTO.builder().name(first.getName()).quantityOnHand(20).build()).block();
+        service.deleteBeer(second.getId()).block();
+
+        BeerStyleSummaryDTO expected = BeerStyleSummaryDTO.builder()
+                .style(style)
+                .count(1)
+                .totalQuantity(20)
+                .stockValue(new BigDecimal("200"))
+                .build();
+        assertThat(summary(style)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+
+        summaryService.reconcile().block();
+
+        assertThat(summary(style)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(expected);
+    }
+
+    private BeerStyleSummaryDTO summary(String style) {
+        return summaryService.summaries()
+                .filter(summary -> style.equals(summary.getStyle()))
+                .blockFirst();
+    }
+
     @Test
     @DisplayName("Test find by First Name")
     void testFindFirstByName() {
@@ -0,0 +1,70 @@
+package guru.springframework.reactivemongo.services;
+
+import guru.springframework.reactivemongo.domain.Beer;
+import guru.springframework.reactivemongo.mappers.BeerMapper;
+import guru.springframework.reactivemongo.model.BeerDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+
+import static guru.springframework.reactivemongo.TestUtils.createTestBeer;
+import static guru.springframework.reactivemongo.config.CacheConfig.BEERS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Needs the Mongo instance to run as a replica set, e.g. a single node started
+ * with {@code --replSet rs0} and initiated with {@code rs.initiate()}.
+ */
+@Slf4j
+@SpringBootTest(properties = "sfg.change-streams.enabled=true")
+@EnabledIfEnvironmentVariable(named = "MONGO_REPLICA_SET", matches = "true")
+class ChangeStreamCacheInvalidatorTest {
+
+    @Autowired
+    BeerService service;
+
+    @Autowired
+    BeerMapper mapper;
+
+    @Autowired
+    ReactiveMongoTemplate template;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Write from another node evicts the cached beer")
+    void testRemoteWriteEvictsCachedBeer() {
+        BeerDTO saved = service.saveBeer(mapper.toBeerDto(createTestBeer())).block();
+        assertThat(saved).isNotNull();
+        service.findById(saved.getId()).block();
+        CaffeineCache beers = (CaffeineCache) cacheManager.getCache(BEERS);
+        assertThat(beers.getNativeCache().getIfPresent(saved.getId())).isNotNull();
+
+        // bypasses the service, like a write made through another replica of this app
+        long writtenAt = System.nanoTime();
+        template.updateFirst(query(where("id").is(saved.getId())), Update.update("name", "Remote Name"), Beer.class)
+                .block();
+
+        await().atMost(Duration.ofSeconds(10))
+                .pollInterval(Duration.ofMillis(5))
+                .until(() -> beers.getNativeCache().getIfPresent(saved.getId()) == null);
+        Duration lag = Duration.ofNanos(System.nanoTime() - writtenAt);
+        log.info("Invalidation lag: {} ms", lag.toMillis());
+
+        assertThat(service.findById(saved.getId()).block().getName()).isEqualTo("Remote Name");
+        assertThat(lag).isLessThan(Duration.ofSeconds(2));
+    }
+}
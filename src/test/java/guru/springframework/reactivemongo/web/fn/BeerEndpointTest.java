@@ -3,6 +3,7 @@ package guru.springframework.reactivemongo.web.fn;
 import guru.springframework.reactivemongo.TestConfig;
 import guru.springframework.reactivemongo.domain.Beer;
 import guru.springframework.reactivemongo.model.BeerDTO;
+import guru.springframework.reactivemongo.model.BeerImportResult;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -10,14 +11,26 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static guru.springframework.reactivemongo.TestUtils.createTestBeer;
 import static guru.springframework.reactivemongo.TestUtils.createTestBeerDTO;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_BATCH_PATH;
 import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH;
 import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_PATH_ID;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_SEARCH_PATH;
+import static guru.springframework.reactivemongo.web.fn.BeerRouter.BEER_STYLE_ANALYTICS_PATH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
@@ -61,6 +74,55 @@ public class BeerEndpointTest {
                 .isNoContent();
     }
 
+    @Test
+    void testDeleteBeerNotFound() {
+        webTestClient.delete()
+                .uri(BEER_PATH_ID, 999)
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void testDeleteBeerReturnsRepresentation() {
+        BeerDTO testBeer = createAndSaveTestBeer();
+
+        webTestClient.delete()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .header("Prefer", "return=representation")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(testBeer.getId())
+                .jsonPath("$.name").isEqualTo(testBeer.getName());
+
+        webTestClient.get()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @Order(999)
+    void testDeleteBeersByStyle() {
+        BeerDTO discontinued = createTestBeerDTO();
+        discontinued.setStyle("DISCONTINUED");
+        webTestClient.post()
+                .uri(BEER_PATH)
+                .body(Mono.just(discontinued), BeerDTO.class)
+                .header("Content-Type", "application/json")
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.delete()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("beerStyle", "DISCONTINUED").build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.deletedCount").value(greaterThan(0));
+    }
+
     @Test
     @Order(4)
     void testUpdateBeerBadRequest() {
@@ -119,6 +181,55 @@ public class BeerEndpointTest {
                 .expectHeader().exists("location");
     }
 
+    @Test
+    void testCreateBeerTooLarge() {
+        BeerDTO beerDTO = createTestBeerDTO();
+        beerDTO.setName("x".repeat(32 * 1024));
+
+        webTestClient.post()
+                .uri(BEER_PATH)
+                .body(Mono.just(beerDTO), BeerDTO.class)
+                .header("Content-Type", "application/json")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Test
+    void testImportBeersAllowsLargerBodies() {
+        BeerDTO beerDTO = createTestBeerDTO();
+        beerDTO.setName("x".repeat(32 * 1024));
+
+        webTestClient.post()
+                .uri(BEER_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(beerDTO), BeerDTO.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BeerImportResult.class)
+                .value(results -> assertThat(results.get(0).getErrors()).isNotEmpty());
+    }
+
+    @Test
+    void testImportBeers() {
+        BeerDTO invalid = createTestBeerDTO();
+        invalid.setName("");
+
+        webTestClient.post()
+                .uri(BEER_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(Flux.just(createTestBeerDTO(), invalid, createTestBeerDTO()), BeerDTO.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BeerImportResult.class)
+                .value(results -> {
+                    assertThat(results).hasSize(3);
+                    assertThat(results.get(0).getId()).isNotNull();
+                    assertThat(results.get(1).getId()).isNull();
+                    assertThat(results.get(1).getErrors()).isNotEmpty();
+                    assertThat(results.get(2).getId()).isNotNull();
+                });
+    }
+
     @Test
     void testGetByIdNotFound() {
         webTestClient.get()
@@ -140,6 +251,92 @@ public class BeerEndpointTest {
                 .expectBody(BeerDTO.class);
     }
 
+    @Test
+    void testGetByIdNotModified() {
+        BeerDTO testBeer = createAndSaveTestBeer();
+
+        String eTag = webTestClient.get()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BeerDTO.class)
+                .getResponseHeaders().getETag();
+
+        assertThat(eTag).isNotNull();
+        webTestClient.get()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testBeersNotModified() {
+        String eTag = webTestClient.get()
+                .uri(BEER_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BeerDTO.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri(BEER_PATH)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testBeersModifiedAfterWrite() {
+        String eTag = webTestClient.get()
+                .uri(BEER_PATH)
+                .exchange()
+                .returnResult(BeerDTO.class)
+                .getResponseHeaders().getETag();
+
+        createAndSaveTestBeer();
+
+        webTestClient.get()
+                .uri(BEER_PATH)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void testUpdateIfMatch() {
+        BeerDTO testBeer = createAndSaveTestBeer();
+        String eTag = webTestClient.get()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .exchange()
+                .returnResult(BeerDTO.class)
+                .getResponseHeaders().getETag();
+        testBeer.setVersion(null);
+
+        String newETag = webTestClient.put()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .header("If-Match", eTag)
+                .body(Mono.just(testBeer), BeerDTO.class)
+                .exchange()
+                .expectStatus().isNoContent()
+                .returnResult(Void.class)
+                .getResponseHeaders().getETag();
+
+        assertThat(newETag).isNotEqualTo(eTag);
+        webTestClient.put()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .header("If-Match", eTag)
+                .body(Mono.just(testBeer), BeerDTO.class)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete()
+                .uri(BEER_PATH_ID, testBeer.getId())
+                .header("If-Match", eTag)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
     @Test
     @Order(2)
     void testBeers() {
@@ -151,6 +348,137 @@ public class BeerEndpointTest {
                 .expectBody().jsonPath("$.size()").value(greaterThan(1));
     }
 
+    @Test
+    @Order(2)
+    void testBeersPaged() {
+        createAndSaveTestBeer();
+        createAndSaveTestBeer();
+
+        String nextCursor = webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("size", 1)
+                        .queryParam("count", "estimated").build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-Estimated-Total-Count")
+                .expectBody().jsonPath("$.size()").value(equalTo(1))
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst("X-Next-Cursor");
+
+        assertThat(nextCursor).isNotNull();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("size", 1)
+                        .queryParam("cursor", nextCursor).build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.size()").value(equalTo(1));
+    }
+
+    @Test
+    @Order(2)
+    void testStreamBeers() {
+        webTestClient.get()
+                .uri(BEER_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BeerDTO.class).value(beers -> assertThat(beers).hasSizeGreaterThan(1));
+    }
+
+    @Test
+    @Order(2)
+    void testBeersSparseFieldset() {
+        createAndSaveTestBeer();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("fields", "id,name,price").build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").exists()
+                .jsonPath("$[0].name").exists()
+                .jsonPath("$[0].style").doesNotExist()
+                .jsonPath("$[0].upc").doesNotExist();
+    }
+
+    @Test
+    void testSearchBeers() {
+        BeerDTO testBeer = createAndSaveTestBeer();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_SEARCH_PATH)
+                        .queryParam("q", testBeer.getName())
+                        .queryParam("size", 5).build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").value(greaterThan(0))
+                .jsonPath("$[0].name").isEqualTo(testBeer.getName());
+    }
+
+    @Test
+    void testSearchBeersRequiresText() {
+        webTestClient.get()
+                .uri(BEER_SEARCH_PATH)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testStyleAnalytics() {
+        createAndSaveTestBeer();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_STYLE_ANALYTICS_PATH)
+                        .queryParam("minPrice", "10")
+                        .queryParam("maxPrice", "10")
+                        .queryParam("minQuantity", 1).build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[?(@.style == 'IPA')]").isNotEmpty()
+                .jsonPath("$[?(@.style == 'IPA')].stockValue").isNotEmpty()
+                .jsonPath("$[?(@.maxPrice > 10)]").isEmpty();
+    }
+
+    @Test
+    void testStyleAnalyticsBadFilter() {
+        webTestClient.get()
+                .uri(BEER_STYLE_ANALYTICS_PATH + "?minPrice=cheap")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testBeersUnknownField() {
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("fields", "id,secret").build().toUri())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testBeersBadCursor() {
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(BEER_PATH)
+                        .queryParam("cursor", "a").build().toUri())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     @Order(2)
     void testListBeersByStyle() {
@@ -173,6 +501,51 @@ public class BeerEndpointTest {
                 .expectBody().jsonPath("$.size()").value(equalTo(1));
     }
 
+    @Test
+    void testRouteAndMongoMetricsExposed() {
+        webTestClient.get().uri(BEER_PATH)
+                .exchange()
+                .expectStatus().isOk();
+
+        String scrape = webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(scrape)
+                .contains("sfg_route_requests_seconds_bucket")
+                .contains("route=\"beer.list\"")
+                .contains("mongodb_driver_commands_seconds_bucket")
+                .contains("mongodb_driver_pool_checkedout")
+                .contains("mongodb_driver_pool_waitqueuesize")
+                .contains("mongodb_driver_pool_wait_seconds_bucket");
+    }
+
+    @Test
+    void testReadinessIncludesPoolSaturation() {
+        webTestClient.get().uri("/actuator/health/readiness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP")
+                .jsonPath("$.components.mongoPoolSaturation.status").isEqualTo("UP");
+    }
+
+    @Test
+    void testWarmUpReportedBeforeReady() {
+        webTestClient.get().uri("/actuator/warmup")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(true)
+                .jsonPath("$.steps[*].name").value(containsInAnyOrder(
+                        "mongoConnections", "indexes", "caches", "jwkSet", "routes"))
+                .jsonPath("$.steps[?(@.name == 'routes')].outcome").isEqualTo(List.of("success"))
+                .jsonPath("$.steps[?(@.name == 'routes')].detail").value(contains(endsWith(" 0 failed")));
+    }
+
     BeerDTO createAndSaveTestBeer() {
         webTestClient
                 .post()
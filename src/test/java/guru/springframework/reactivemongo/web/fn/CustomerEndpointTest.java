@@ -11,12 +11,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
 import static guru.springframework.reactivemongo.TestUtils.createTestCustomer;
 import static guru.springframework.reactivemongo.TestUtils.createTestCustomerDTO;
 import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH;
 import static guru.springframework.reactivemongo.web.fn.CustomerRouter.CUSTOMER_PATH_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -59,6 +62,34 @@ public class CustomerEndpointTest {
                 .isNoContent();
     }
 
+    @Test
+    void testDeleteCustomerNotFound() {
+        webTestClient.delete()
+                .uri(CUSTOMER_PATH_ID, 999)
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void testDeleteCustomerReturnsRepresentation() {
+        CustomerDTO testCustomer = createAndSaveTestCustomer();
+
+        webTestClient.delete()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .header("Prefer", "return=representation")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(testCustomer.getId())
+                .jsonPath("$.name").isEqualTo(testCustomer.getName());
+
+        webTestClient.get()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     @Order(4)
     void testUpdateCustomerBadRequest() {
@@ -149,6 +180,176 @@ public class CustomerEndpointTest {
                 .expectBody().jsonPath("$.size()").value(greaterThan(1));
     }
 
+    @Test
+    @Order(2)
+    void testCustomersPaged() {
+        createAndSaveTestCustomer();
+        createAndSaveTestCustomer();
+
+        String nextCursor = webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH)
+                        .queryParam("size", 1)
+                        .queryParam("count", "estimated").build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-Estimated-Total-Count")
+                .expectBody().jsonPath("$.size()").value(equalTo(1))
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst("X-Next-Cursor");
+
+        assertThat(nextCursor).isNotNull();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH)
+                        .queryParam("size", 1)
+                        .queryParam("cursor", nextCursor).build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.size()").value(equalTo(1));
+    }
+
+    @Test
+    void testCustomersBadCursor() {
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH)
+                        .queryParam("cursor", "a").build().toUri())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @Order(2)
+    void testCustomersSparseFieldset() {
+        createAndSaveTestCustomer();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH)
+                        .queryParam("fields", "id,name").build().toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").exists()
+                .jsonPath("$[0].name").exists()
+                .jsonPath("$[0].version").doesNotExist()
+                .jsonPath("$[0].createdDate").doesNotExist();
+    }
+
+    @Test
+    void testGetByIdSparseFieldset() {
+        CustomerDTO testCustomer = createAndSaveTestCustomer();
+
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH_ID)
+                        .queryParam("fields", "name").buildAndExpand(testCustomer.getId()).toUri())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo(testCustomer.getName())
+                .jsonPath("$.version").doesNotExist();
+    }
+
+    @Test
+    void testCustomersUnknownField() {
+        webTestClient.get()
+                .uri(UriComponentsBuilder
+                        .fromPath(CUSTOMER_PATH)
+                        .queryParam("fields", "id,secret").build().toUri())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetByIdNotModified() {
+        CustomerDTO testCustomer = createAndSaveTestCustomer();
+
+        String eTag = webTestClient.get()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CustomerDTO.class)
+                .getResponseHeaders().getETag();
+
+        assertThat(eTag).isNotNull();
+        webTestClient.get()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testCustomersNotModified() {
+        String eTag = webTestClient.get()
+                .uri(CUSTOMER_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CustomerDTO.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri(CUSTOMER_PATH)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testCustomersModifiedAfterWrite() {
+        String eTag = webTestClient.get()
+                .uri(CUSTOMER_PATH)
+                .exchange()
+                .returnResult(CustomerDTO.class)
+                .getResponseHeaders().getETag();
+
+        createAndSaveTestCustomer();
+
+        webTestClient.get()
+                .uri(CUSTOMER_PATH)
+                .header("If-None-Match", eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void testUpdateIfMatch() {
+        CustomerDTO testCustomer = createAndSaveTestCustomer();
+        String eTag = webTestClient.get()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .exchange()
+                .returnResult(CustomerDTO.class)
+                .getResponseHeaders().getETag();
+        testCustomer.setVersion(null);
+
+        String newETag = webTestClient.put()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .header("If-Match", eTag)
+                .body(Mono.just(testCustomer), CustomerDTO.class)
+                .exchange()
+                .expectStatus().isNoContent()
+                .returnResult(Void.class)
+                .getResponseHeaders().getETag();
+
+        assertThat(newETag).isNotEqualTo(eTag);
+        webTestClient.put()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .header("If-Match", eTag)
+                .body(Mono.just(testCustomer), CustomerDTO.class)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.delete()
+                .uri(CUSTOMER_PATH_ID, testCustomer.getId())
+                .header("If-Match", eTag)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
     CustomerDTO createAndSaveTestCustomer() {
         webTestClient
                 .post()